@@ -2,6 +2,34 @@ case "$1" in
     start)
         mvn clean install -DskipTests && mvn spring-boot:run
         ;;
+    start-fast)
+        # Perfil fast-startup: AOT + archivo CDS + warm-up antes de readiness
+        mvn -Pfast-startup clean package -DskipTests && \
+        java -XX:SharedArchiveFile=target/app-cds.jsa -Xlog:cds=off \
+             -Dspring.aot.enabled=true -Dknightstour.warmup.enabled=true \
+             -cp "target/knights-tour-1.0.0.jar:target/lib/*" \
+             com.uade.progra3.knightstour.KnightsTourApplication
+        ;;
+    cluster)
+        # N workers en los puertos 8081.. y el coordinador en 8080: ./app.sh cluster 3
+        workers=${2:-2}
+        mvn clean package -DskipTests || exit 1
+        jar=target/knights-tour-1.0.0.jar
+        urls=""
+        for i in $(seq 1 "$workers"); do
+            port=$((8080 + i))
+            java -jar "$jar" --server.port=$port --knightstour.cluster.worker-enabled=true \
+                > "target/worker-$port.log" 2>&1 &
+            urls="$urls${urls:+,}http://localhost:$port"
+        done
+        trap 'kill $(jobs -p) 2>/dev/null' EXIT
+        java -jar "$jar" --knightstour.cluster.workers="$urls"
+        ;;
+    load-test)
+        # Genera carga contra una instancia ya levantada: ./app.sh load-test rate=50 duration=30
+        shift
+        java tools/LoadTest.java "$@"
+        ;;
     stop)
         lsof -ti:8080 | xargs kill -9 2>/dev/null && echo "Detenido" || echo "No hay proceso"
         ;;
@@ -10,7 +38,7 @@ case "$1" in
         mvn clean install -DskipTests && mvn spring-boot:run
         ;;
     *)
-        echo "Uso: ./app.sh [start|stop|restart]"
+        echo "Uso: ./app.sh [start|start-fast|cluster|load-test|stop|restart]"
         exit 1
         ;;
 esac
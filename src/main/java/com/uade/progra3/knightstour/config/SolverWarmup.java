@@ -0,0 +1,153 @@
+package com.uade.progra3.knightstour.config;
+
+import com.uade.progra3.knightstour.service.BacktrackingService;
+import com.uade.progra3.knightstour.service.DynamicProgrammingService;
+import com.uade.progra3.knightstour.service.KnightGraph;
+import com.uade.progra3.knightstour.service.KnightGraphCache;
+import com.uade.progra3.knightstour.service.SimplePathOptimizerService;
+import com.uade.progra3.knightstour.service.WarnsdorffService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Calienta el JIT ejecutando los loops de cada algoritmo sobre tableros representativos
+ * antes de que la aplicación quede lista. Después hace algunos requests HTTP contra el
+ * propio servidor para cargar y compilar también el camino de Spring MVC + Jackson.
+ *
+ * Spring ejecuta los ApplicationRunner antes de publicar el estado de readiness
+ * ACCEPTING_TRAFFIC, así que /actuator/health/readiness no pasa a UP hasta que terminó
+ * el warm-up y los primeros requests reales ya corren con código compilado.
+ *
+ * Con knightstour.warmup.exit=true la aplicación termina después del warm-up: es la
+ * ejecución de entrenamiento que usa el perfil fast-startup para generar el archivo CDS.
+ *
+ * El flag se lee en run() y no con @ConditionalOnProperty porque con Spring AOT las
+ * condiciones se evalúan al compilar y no podría activarse al arrancar.
+ */
+@Component
+public class SolverWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SolverWarmup.class);
+
+    private static final int HTTP_ROUNDS = 5;
+
+    private static final List<String> HTTP_WARMUP_PATHS = List.of(
+        "/api/knights-tour/backtracking?boardSize=5&startRow=0&startCol=0",
+        "/api/knights-tour/warnsdorff?boardSize=20&startRow=0&startCol=0",
+        "/api/knights-tour/compare?boardSize=5&startRow=0&startCol=0",
+        "/api/knights-tour/generate-points-board?boardSize=8"
+    );
+
+    private final BacktrackingService backtrackingService;
+    private final WarnsdorffService warnsdorffService;
+    private final DynamicProgrammingService dynamicProgrammingService;
+    private final SimplePathOptimizerService simplePathOptimizerService;
+    private final KnightGraphCache graphCache;
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+
+    @Value("${knightstour.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${knightstour.warmup.iterations:50}")
+    private int iterations;
+
+    @Value("${knightstour.warmup.exit:false}")
+    private boolean exitAfterWarmup;
+
+    public SolverWarmup(BacktrackingService backtrackingService,
+                        WarnsdorffService warnsdorffService,
+                        DynamicProgrammingService dynamicProgrammingService,
+                        SimplePathOptimizerService simplePathOptimizerService,
+                        KnightGraphCache graphCache,
+                        ConfigurableApplicationContext context,
+                        Environment environment) {
+        this.backtrackingService = backtrackingService;
+        this.warnsdorffService = warnsdorffService;
+        this.dynamicProgrammingService = dynamicProgrammingService;
+        this.simplePathOptimizerService = simplePathOptimizerService;
+        this.graphCache = graphCache;
+        this.context = context;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        int[][] points8 = dynamicProgrammingService.generateRandomPointsBoard(8);
+        int[][] points6 = dynamicProgrammingService.generateRandomPointsBoard(6);
+        KnightGraph board6 = graphCache.square(6);
+
+        for (int i = 0; i < iterations; i++) {
+            backtrackingService.solve(5, 0, 0);
+            backtrackingService.solve(6, 0, 0);
+            warnsdorffService.solve(8, i % 8, (i / 8) % 8);
+            warnsdorffService.solve(20, i % 20, (i / 20) % 20);
+            dynamicProgrammingService.solve(8, i % 8, 0, 10, points8);
+            simplePathOptimizerService.solve(board6, 0, 0, 10, points6, 64, 50);
+        }
+        for (int i = 0; i < iterations / 10; i++) {
+            warnsdorffService.solveRobust(8, 0, 0, 8, i);
+        }
+        warmUpHttp();
+
+        log.info("Warm-up de algoritmos completado en {} ms ({} iteraciones)",
+                 System.currentTimeMillis() - startTime, iterations);
+
+        if (exitAfterWarmup) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * Requests contra el servidor local (ya escuchando, pero todavía sin readiness).
+     * Un error acá no impide el arranque: solo se pierde esa parte del warm-up.
+     */
+    private void warmUpHttp() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        String baseUrl = "http://localhost:" + port;
+        try {
+            for (int i = 0; i < HTTP_ROUNDS; i++) {
+                for (String path : HTTP_WARMUP_PATHS) {
+                    send(client, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+                }
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/knights-tour/dynamic-programming"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"boardSize\":8,\"startRow\":0,\"startCol\":0,\"maxMoves\":10}")));
+            }
+        } catch (IOException e) {
+            log.warn("Warm-up HTTP incompleto: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        client.send(request.header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,84 @@
+package com.uade.progra3.knightstour.controller;
+
+import com.uade.progra3.knightstour.model.ClusterTask;
+import com.uade.progra3.knightstour.model.ClusterWorkResult;
+import com.uade.progra3.knightstour.model.Position;
+import com.uade.progra3.knightstour.service.BacktrackingService;
+import com.uade.progra3.knightstour.service.ClusterCoordinatorService;
+import com.uade.progra3.knightstour.service.KnightGraph;
+import com.uade.progra3.knightstour.service.KnightGraphCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Lado worker del modo cluster. Solo se registra en las instancias arrancadas con
+ * knightstour.cluster.worker-enabled=true (./app.sh cluster lo hace): en el resto
+ * /cluster/work no existe, así nadie puede pedirle búsquedas arbitrarias.
+ *
+ * El presupuesto de nodos de cada tarea se recorta a knightstour.cluster.max-task-node-budget;
+ * si no alcanza, la continuación vuelve al coordinador como cualquier otra tarea pausada.
+ */
+@RestController
+@RequestMapping("/api/knights-tour")
+@ConditionalOnProperty(name = "knightstour.cluster.worker-enabled", havingValue = "true")
+public class ClusterWorkerController {
+
+    private final BacktrackingService backtrackingService;
+    private final KnightGraphCache graphCache;
+
+    @Value("${knightstour.cluster.max-task-node-budget:20000000}")
+    private long maxTaskNodeBudget;
+
+    public ClusterWorkerController(BacktrackingService backtrackingService, KnightGraphCache graphCache) {
+        this.backtrackingService = backtrackingService;
+        this.graphCache = graphCache;
+    }
+
+    /**
+     * Explora el subárbol de la tarea hasta su presupuesto de nodos. Lo llama el
+     * coordinador, no está pensado para clientes.
+     */
+    @PostMapping("/cluster/work")
+    public ResponseEntity<ClusterWorkResult> exploreClusterTask(@RequestBody ClusterTask task) {
+
+        KnightGraph graph = resolveGraph(task);
+        if (graph == null || task.getCursor() == null || task.getStopAfter() < 0
+                || task.getMaxStoredTours() < 0 || task.getMaxStoredTours() > ClusterCoordinatorService.MAX_STORED_TOURS
+                || task.getNodeBudget() < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        task.setNodeBudget(Math.min(task.getNodeBudget(), maxTaskNodeBudget));
+
+        try {
+            return ResponseEntity.ok(backtrackingService.exploreSubtree(graph, task));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Grafo compartido del tablero de la tarea, o null si está fuera de rango
+     */
+    private KnightGraph resolveGraph(ClusterTask task) {
+        int rows = task.getRows();
+        int cols = task.getCols();
+        if (rows < 1 || rows > BacktrackingService.MAX_BOARD_SIZE
+                || cols < 1 || cols > BacktrackingService.MAX_BOARD_SIZE) {
+            return null;
+        }
+        if (task.getBlockedSquares() != null) {
+            for (Position position : task.getBlockedSquares()) {
+                if (position == null || position.getRow() < 0 || position.getRow() >= rows
+                        || position.getCol() < 0 || position.getCol() >= cols) {
+                    return null;
+                }
+            }
+        }
+        return graphCache.get(rows, cols, task.getBlockedSquares());
+    }
+}
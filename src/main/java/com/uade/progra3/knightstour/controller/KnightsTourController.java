@@ -1,12 +1,40 @@
 package com.uade.progra3.knightstour.controller;
 
+import com.uade.progra3.knightstour.model.AutoSolveResult;
+import com.uade.progra3.knightstour.model.BulkSolveItem;
+import com.uade.progra3.knightstour.model.ClusterSolveRequest;
+import com.uade.progra3.knightstour.model.ClusterSolveResult;
 import com.uade.progra3.knightstour.model.DynamicProgrammingRequest;
+import com.uade.progra3.knightstour.model.Position;
 import com.uade.progra3.knightstour.model.SolutionResult;
+import com.uade.progra3.knightstour.service.AutoSolveService;
 import com.uade.progra3.knightstour.service.BacktrackingService;
+import com.uade.progra3.knightstour.service.BulkSolveService;
+import com.uade.progra3.knightstour.service.ClusterCoordinatorService;
 import com.uade.progra3.knightstour.service.DynamicProgrammingService;
+import com.uade.progra3.knightstour.service.KnightGraph;
+import com.uade.progra3.knightstour.service.KnightGraphCache;
+import com.uade.progra3.knightstour.service.SimplePathOptimizerService;
+import com.uade.progra3.knightstour.service.SolveCoalescer;
 import com.uade.progra3.knightstour.service.WarnsdorffService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * REST Controller para exponer los diferentes algoritmos del Knight's Tour
@@ -16,41 +44,123 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class KnightsTourController {
 
+    // Cambiar al modificar cualquier algoritmo: invalida los ETags ya emitidos
+    private static final String ALGORITHM_VERSION = "3";
+
+    // Los endpoints deterministas pueden cachearse; pasado el max-age se revalida con el ETag
+    private static final CacheControl SOLVE_CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
     private final BacktrackingService backtrackingService;
     private final WarnsdorffService warnsdorffService;
     private final DynamicProgrammingService dynamicProgrammingService;
+    private final SimplePathOptimizerService simplePathOptimizerService;
+    private final BulkSolveService bulkSolveService;
+    private final ClusterCoordinatorService clusterCoordinatorService;
+    private final SolveCoalescer solveCoalescer;
+    private final AutoSolveService autoSolveService;
+    private final KnightGraphCache graphCache;
 
     public KnightsTourController(BacktrackingService backtrackingService,
                                 WarnsdorffService warnsdorffService,
-                                DynamicProgrammingService dynamicProgrammingService) {
+                                DynamicProgrammingService dynamicProgrammingService,
+                                SimplePathOptimizerService simplePathOptimizerService,
+                                BulkSolveService bulkSolveService,
+                                ClusterCoordinatorService clusterCoordinatorService,
+                                SolveCoalescer solveCoalescer,
+                                AutoSolveService autoSolveService,
+                                KnightGraphCache graphCache) {
         this.backtrackingService = backtrackingService;
         this.warnsdorffService = warnsdorffService;
         this.dynamicProgrammingService = dynamicProgrammingService;
+        this.simplePathOptimizerService = simplePathOptimizerService;
+        this.bulkSolveService = bulkSolveService;
+        this.clusterCoordinatorService = clusterCoordinatorService;
+        this.solveCoalescer = solveCoalescer;
+        this.autoSolveService = autoSolveService;
+        this.graphCache = graphCache;
     }
 
     /**
-     * Resuelve el Knight's Tour usando Backtracking
+     * Resuelve el Knight's Tour usando Backtracking. Los requests idénticos que llegan
+     * mientras otro se está resolviendo esperan ese resultado en lugar de repetirlo.
      * 
      * @param boardSize Tamaño del tablero (n x n)
      * @param startRow Fila inicial (0-indexed)
      * @param startCol Columna inicial (0-indexed)
+     * @param rows Filas para tableros rectangulares (por defecto boardSize)
+     * @param cols Columnas para tableros rectangulares (por defecto boardSize)
+     * @param blocked Casillas bloqueadas con formato "fila,col;fila,col"
+     * @param telemetry Si es true, incluye métricas del árbol de búsqueda en la respuesta
      */
     @GetMapping("/backtracking")
     public ResponseEntity<SolutionResult> solveWithBacktracking(
             @RequestParam(defaultValue = "5") int boardSize,
             @RequestParam(defaultValue = "0") int startRow,
-            @RequestParam(defaultValue = "0") int startCol) {
+            @RequestParam(defaultValue = "0") int startCol,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols,
+            @RequestParam(required = false) String blocked,
+            @RequestParam(defaultValue = "false") boolean telemetry,
+            WebRequest webRequest) {
         
-        if (boardSize < 1 || boardSize > 8) {
+        KnightGraph graph = resolveGraph(boardSize, rows, cols, parseBlocked(blocked), BacktrackingService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, startRow, startCol)) {
             return ResponseEntity.badRequest().body(null);
         }
         
-        if (startRow < 0 || startRow >= boardSize || startCol < 0 || startCol >= boardSize) {
-            return ResponseEntity.badRequest().body(null);
+        String etag = solveEtag("backtracking", graph, startRow, startCol, telemetry);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
         
-        SolutionResult result = backtrackingService.solve(boardSize, startRow, startCol);
-        return ResponseEntity.ok(result);
+        try {
+            SolutionResult result = solveCoalescer.solve("backtracking",
+                canonicalRequest("backtracking", graph, startRow, startCol, telemetry),
+                () -> backtrackingService.solve(graph, startRow, startCol, telemetry));
+            return ResponseEntity.ok().eTag(etag).cacheControl(SOLVE_CACHE_CONTROL).body(result);
+        } catch (TimeoutException | RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Backtracking paginado: devuelve las siguientes pageSize soluciones. La primera página se
+     * pide sin cursor y las siguientes con el nextCursor de la respuesta anterior; la búsqueda
+     * continúa exactamente donde quedó, sin recalcular las páginas previas.
+     * 
+     * @param cursor Cursor opaco devuelto en nextCursor (vacío = primera página)
+     * @param pageSize Cantidad de soluciones por página
+     */
+    @GetMapping("/backtracking/page")
+    public ResponseEntity<SolutionResult> solveBacktrackingPage(
+            @RequestParam(defaultValue = "5") int boardSize,
+            @RequestParam(defaultValue = "0") int startRow,
+            @RequestParam(defaultValue = "0") int startCol,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols,
+            @RequestParam(required = false) String blocked,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int pageSize,
+            WebRequest webRequest) {
+        
+        KnightGraph graph = resolveGraph(boardSize, rows, cols, parseBlocked(blocked), BacktrackingService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, startRow, startCol)
+                || pageSize < 1 || pageSize > BacktrackingService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String pageCursor = cursor == null || cursor.isBlank() ? null : cursor.trim();
+        String etag = solveEtag("backtracking-page|" + pageSize + "|" + pageCursor, graph, startRow, startCol, false);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        try {
+            SolutionResult result = backtrackingService.solvePage(graph, startRow, startCol, pageCursor, pageSize);
+            return ResponseEntity.ok().eTag(etag).cacheControl(SOLVE_CACHE_CONTROL).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -59,45 +169,165 @@ public class KnightsTourController {
      * @param boardSize Tamaño del tablero (n x n)
      * @param startRow Fila inicial (0-indexed)
      * @param startCol Columna inicial (0-indexed)
+     * @param robust Si es true, usa intentos paralelos con desempate aleatorio y fallback de backtracking
+     * @param attempts Cantidad de intentos paralelos del modo robusto
+     * @param seed Semilla base del modo robusto (el intento i usa seed + i)
+     * @param rows Filas para tableros rectangulares (por defecto boardSize)
+     * @param cols Columnas para tableros rectangulares (por defecto boardSize)
+     * @param blocked Casillas bloqueadas con formato "fila,col;fila,col"
+     * @param telemetry Si es true, incluye métricas del árbol de búsqueda en la respuesta
      */
     @GetMapping("/warnsdorff")
     public ResponseEntity<SolutionResult> solveWithWarnsdorff(
             @RequestParam(defaultValue = "8") int boardSize,
             @RequestParam(defaultValue = "0") int startRow,
-            @RequestParam(defaultValue = "0") int startCol) {
+            @RequestParam(defaultValue = "0") int startCol,
+            @RequestParam(defaultValue = "false") boolean robust,
+            @RequestParam(defaultValue = "8") int attempts,
+            @RequestParam(defaultValue = "0") long seed,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols,
+            @RequestParam(required = false) String blocked,
+            @RequestParam(defaultValue = "false") boolean telemetry,
+            WebRequest webRequest) {
         
-        if (boardSize < 1 || boardSize > 20) {
+        KnightGraph graph = resolveGraph(boardSize, rows, cols, parseBlocked(blocked), WarnsdorffService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, startRow, startCol)) {
             return ResponseEntity.badRequest().build();
         }
         
-        if (startRow < 0 || startRow >= boardSize || startCol < 0 || startCol >= boardSize) {
+        if (attempts < 1 || attempts > 64) {
             return ResponseEntity.badRequest().build();
         }
         
-        SolutionResult result = warnsdorffService.solve(boardSize, startRow, startCol);
-        return ResponseEntity.ok(result);
+        // El modo robusto se queda con el primer intento que termina, así que no es determinista
+        if (robust) {
+            return ResponseEntity.ok(warnsdorffService.solveRobust(graph, startRow, startCol, attempts, seed, telemetry));
+        }
+        
+        String etag = solveEtag("warnsdorff", graph, startRow, startCol, telemetry);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        SolutionResult result = warnsdorffService.solve(graph, startRow, startCol, telemetry);
+        return ResponseEntity.ok().eTag(etag).cacheControl(SOLVE_CACHE_CONTROL).body(result);
     }
 
     /**
-     * Resuelve el problema de maximización de puntos usando Programación Dinámica
+     * Elige el motor según el pedido y lo que costaron las ejecuciones anteriores, con
+     * fallback a otro motor si el primero no lo resuelve. La respuesta dice qué motor se
+     * usó y por qué.
+     * 
+     * @param closed Si es true, solo recorridos cerrados (la última casilla ataca a la inicial)
+     * @param alternatives Cantidad de recorridos distintos pedidos
+     * @param budgetMs Presupuesto de latencia en milisegundos
+     */
+    @GetMapping("/auto")
+    public ResponseEntity<AutoSolveResult> solveAuto(
+            @RequestParam(defaultValue = "8") int boardSize,
+            @RequestParam(defaultValue = "0") int startRow,
+            @RequestParam(defaultValue = "0") int startCol,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols,
+            @RequestParam(required = false) String blocked,
+            @RequestParam(defaultValue = "false") boolean closed,
+            @RequestParam(defaultValue = "1") int alternatives,
+            @RequestParam(defaultValue = "2000") long budgetMs) {
+        
+        KnightGraph graph = resolveGraph(boardSize, rows, cols, parseBlocked(blocked), WarnsdorffService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, startRow, startCol)
+                || alternatives < 1 || alternatives > AutoSolveService.MAX_ALTERNATIVES
+                || budgetMs < 1 || budgetMs > AutoSolveService.MAX_BUDGET_MS) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(autoSolveService.solve(graph, startRow, startCol, closed, alternatives, budgetMs));
+    }
+
+    /**
+     * Resuelve el problema de maximización de puntos usando Programación Dinámica.
+     * Si el request trae pointsBoard, los requests idénticos concurrentes comparten el cálculo.
      */
     @PostMapping("/dynamic-programming")
     public ResponseEntity<SolutionResult> solveWithDynamicProgramming(
             @RequestBody DynamicProgrammingRequest request) {
         
-        int boardSize = request.getBoardSize();
+        KnightGraph graph = resolveGraph(request.getBoardSize(), request.getRows(), request.getCols(),
+                                         request.getBlockedSquares(), DynamicProgrammingService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, request.getStartRow(), request.getStartCol())
+                || request.getMaxMoves() < 0 || request.getMaxMoves() > DynamicProgrammingService.MAX_MOVES) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         int[][] pointsBoard = request.getPointsBoard();
         
         if (pointsBoard == null || pointsBoard.length == 0) {
-            pointsBoard = dynamicProgrammingService.generateRandomPointsBoard(boardSize);
+            // Tablero aleatorio: cada request es distinto, no se agrupa
+            pointsBoard = dynamicProgrammingService.generateRandomPointsBoard(graph.getRows(), graph.getCols());
+            return ResponseEntity.ok(dynamicProgrammingService.solve(
+                graph, request.getStartRow(), request.getStartCol(), request.getMaxMoves(), pointsBoard));
+        } else if (!hasShape(pointsBoard, graph.getRows(), graph.getCols())) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        int[][] points = pointsBoard;
+        String key = canonicalRequest("dynamic-programming", graph, request.getStartRow(), request.getStartCol(), false)
+            + "|" + request.getMaxMoves() + "|" + Arrays.deepToString(points);
+        try {
+            SolutionResult result = solveCoalescer.solve("dynamic-programming", key,
+                () -> dynamicProgrammingService.solve(
+                    graph,
+                    request.getStartRow(),
+                    request.getStartCol(),
+                    request.getMaxMoves(),
+                    points
+                ));
+            return ResponseEntity.ok(result);
+        } catch (TimeoutException | RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Maximiza puntos sin revisitar casillas (camino simple) con beam search
+     * y branch and bound. Devuelve el mejor camino encontrado dentro de timeLimitMs.
+     */
+    @PostMapping("/dynamic-programming/simple-path")
+    public ResponseEntity<SolutionResult> solveSimplePath(
+            @RequestBody DynamicProgrammingRequest request) {
+        
+        KnightGraph graph = resolveGraph(request.getBoardSize(), request.getRows(), request.getCols(),
+                                         request.getBlockedSquares(), DynamicProgrammingService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, request.getStartRow(), request.getStartCol())
+                || request.getMaxMoves() < 0 || request.getMaxMoves() > DynamicProgrammingService.MAX_MOVES) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        int beamWidth = request.getBeamWidth() != null
+            ? request.getBeamWidth() : SimplePathOptimizerService.DEFAULT_BEAM_WIDTH;
+        long timeLimitMs = request.getTimeLimitMs() != null
+            ? request.getTimeLimitMs() : SimplePathOptimizerService.DEFAULT_TIME_LIMIT_MS;
+        if (beamWidth < 1 || beamWidth > 10000 || timeLimitMs < 1 || timeLimitMs > 60000) {
+            return ResponseEntity.badRequest().build();
         }
         
-        SolutionResult result = dynamicProgrammingService.solve(
-            boardSize,
+        int[][] pointsBoard = request.getPointsBoard();
+        
+        if (pointsBoard == null || pointsBoard.length == 0) {
+            pointsBoard = dynamicProgrammingService.generateRandomPointsBoard(graph.getRows(), graph.getCols());
+        } else if (!hasShape(pointsBoard, graph.getRows(), graph.getCols())) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        SolutionResult result = simplePathOptimizerService.solve(
+            graph,
             request.getStartRow(),
             request.getStartCol(),
             request.getMaxMoves(),
-            pointsBoard
+            pointsBoard,
+            beamWidth,
+            timeLimitMs
         );
         
         return ResponseEntity.ok(result);
@@ -108,13 +338,18 @@ public class KnightsTourController {
      */
     @GetMapping("/generate-points-board")
     public ResponseEntity<int[][]> generatePointsBoard(
-            @RequestParam(defaultValue = "8") int boardSize) {
+            @RequestParam(defaultValue = "8") int boardSize,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols) {
         
-        if (boardSize < 1 || boardSize > 20) {
+        int boardRows = rows != null ? rows : boardSize;
+        int boardCols = cols != null ? cols : boardSize;
+        if (boardRows < 1 || boardRows > DynamicProgrammingService.MAX_BOARD_SIZE
+                || boardCols < 1 || boardCols > DynamicProgrammingService.MAX_BOARD_SIZE) {
             return ResponseEntity.badRequest().build();
         }
         
-        int[][] board = dynamicProgrammingService.generateRandomPointsBoard(boardSize);
+        int[][] board = dynamicProgrammingService.generateRandomPointsBoard(boardRows, boardCols);
         return ResponseEntity.ok(board);
     }
 
@@ -125,18 +360,168 @@ public class KnightsTourController {
     public ResponseEntity<ComparisonResult> compareAlgorithms(
             @RequestParam(defaultValue = "6") int boardSize,
             @RequestParam(defaultValue = "0") int startRow,
-            @RequestParam(defaultValue = "0") int startCol) {
+            @RequestParam(defaultValue = "0") int startCol,
+            @RequestParam(required = false) Integer rows,
+            @RequestParam(required = false) Integer cols,
+            @RequestParam(required = false) String blocked,
+            @RequestParam(defaultValue = "false") boolean telemetry,
+            WebRequest webRequest) {
         
-        if (boardSize < 1 || boardSize > 8) {
+        KnightGraph graph = resolveGraph(boardSize, rows, cols, parseBlocked(blocked), BacktrackingService.MAX_BOARD_SIZE);
+        if (graph == null || !isValidStart(graph, startRow, startCol)) {
             return ResponseEntity.badRequest().body(null);
         }
         
-        SolutionResult backtracking = backtrackingService.solve(boardSize, startRow, startCol);
-        SolutionResult warnsdorff = warnsdorffService.solve(boardSize, startRow, startCol);
+        String etag = solveEtag("compare", graph, startRow, startCol, telemetry);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        SolutionResult backtracking = backtrackingService.solve(graph, startRow, startCol, telemetry);
+        SolutionResult warnsdorff = warnsdorffService.solve(graph, startRow, startCol, telemetry);
         
         ComparisonResult comparison = new ComparisonResult(backtracking, warnsdorff);
         
-        return ResponseEntity.ok(comparison);
+        return ResponseEntity.ok().eTag(etag).cacheControl(SOLVE_CACHE_CONTROL).body(comparison);
+    }
+
+    /**
+     * Resuelve un lote de ítems (backtracking o warnsdorff) en paralelo y devuelve
+     * una línea JSON por resultado (NDJSON) a medida que cada uno termina.
+     */
+    @PostMapping(value = "/bulk", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> solveBulk(@RequestBody List<BulkSolveItem> items) {
+        
+        if (items == null || items.isEmpty() || items.size() > BulkSolveService.MAX_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> bulkSolveService.solveAll(items, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    /**
+     * Backtracking repartido entre las instancias configuradas en knightstour.cluster.workers.
+     * Sin maxTours cuenta todos los recorridos; con maxTours corta al encontrar esa cantidad.
+     * Sin timeLimitMs usa knightstour.cluster.default-time-limit-ms; no se aceptan más de
+     * knightstour.cluster.max-time-limit-ms. Responde 503 si esta instancia no tiene workers configurados.
+     */
+    @PostMapping("/cluster/solve")
+    public ResponseEntity<ClusterSolveResult> solveCluster(@RequestBody ClusterSolveRequest request) {
+        
+        if (clusterCoordinatorService.getWorkers().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        
+        KnightGraph graph = resolveGraph(request.getBoardSize(), request.getRows(), request.getCols(),
+                                         request.getBlockedSquares(), BacktrackingService.MAX_BOARD_SIZE);
+        long maxTours = request.getMaxTours() != null ? request.getMaxTours() : 0;
+        int expansionDepth = request.getExpansionDepth() != null
+            ? request.getExpansionDepth() : clusterCoordinatorService.getDefaultExpansionDepth();
+        long timeLimitMs = request.getTimeLimitMs() != null
+            ? request.getTimeLimitMs() : clusterCoordinatorService.getDefaultTimeLimitMs();
+        if (graph == null || !isValidStart(graph, request.getStartRow(), request.getStartCol())
+                || maxTours < 0 || timeLimitMs < 1 || timeLimitMs > clusterCoordinatorService.getMaxTimeLimitMs()
+                || expansionDepth < 0 || expansionDepth > BacktrackingService.MAX_EXPANSION_DEPTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ClusterSolveResult result = clusterCoordinatorService.solve(graph, request.getBlockedSquares(),
+            request.getStartRow(), request.getStartCol(), maxTours, expansionDepth, timeLimitMs);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Obtiene el grafo compartido del tablero pedido. Devuelve null si las dimensiones
+     * están fuera de rango o el formato de casillas bloqueadas es inválido.
+     */
+    private KnightGraph resolveGraph(int boardSize, Integer rows, Integer cols,
+                                     List<Position> blockedSquares, int maxSide) {
+        int boardRows = rows != null ? rows : boardSize;
+        int boardCols = cols != null ? cols : boardSize;
+        
+        if (boardRows < 1 || boardRows > maxSide || boardCols < 1 || boardCols > maxSide) {
+            return null;
+        }
+        
+        if (blockedSquares != null) {
+            for (Position position : blockedSquares) {
+                if (position == null || position.getRow() < 0 || position.getRow() >= boardRows
+                        || position.getCol() < 0 || position.getCol() >= boardCols) {
+                    return null;
+                }
+            }
+        }
+        
+        return graphCache.get(boardRows, boardCols, blockedSquares);
+    }
+
+    /**
+     * ETag para un endpoint determinista: hash SHA-256 de la forma canónica del request
+     * (endpoint, versión de los algoritmos, tablero, posición inicial y telemetría). Así un
+     * If-None-Match coincidente se responde con 304 sin ejecutar el algoritmo.
+     *
+     * Es débil (W/) porque el cuerpo incluye executionTimeMs, que cambia entre ejecuciones,
+     * y porque Tomcat no comprime respuestas con ETag fuerte.
+     */
+    private String solveEtag(String endpoint, KnightGraph graph, int startRow, int startCol, boolean telemetry) {
+        String canonical = canonicalRequest(endpoint, graph, startRow, startCol, telemetry);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Forma canónica de un request determinista: dos requests con la misma forma devuelven
+     * el mismo resultado. Es la base del ETag y la clave para agrupar requests en vuelo.
+     */
+    private String canonicalRequest(String endpoint, KnightGraph graph, int startRow, int startCol, boolean telemetry) {
+        return endpoint + "|v" + ALGORITHM_VERSION + "|" + graph.getKey() + "|" + startRow + "," + startCol
+            + (telemetry ? "|telemetry" : "");
+    }
+
+    private boolean isValidStart(KnightGraph graph, int startRow, int startCol) {
+        return graph.contains(startRow, startCol) && !graph.isBlocked(graph.index(startRow, startCol));
+    }
+
+    private boolean hasShape(int[][] board, int rows, int cols) {
+        if (board.length != rows) {
+            return false;
+        }
+        for (int[] row : board) {
+            if (row == null || row.length != cols) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parsea casillas bloqueadas con formato "fila,col;fila,col". Las entradas mal
+     * formadas se devuelven como null para que resolveGraph rechace el request.
+     */
+    private List<Position> parseBlocked(String blocked) {
+        List<Position> positions = new ArrayList<>();
+        if (blocked == null || blocked.isBlank()) {
+            return positions;
+        }
+        
+        for (String entry : blocked.split(";")) {
+            String[] parts = entry.trim().split(",");
+            try {
+                positions.add(parts.length == 2
+                    ? new Position(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()))
+                    : null);
+            } catch (NumberFormatException e) {
+                positions.add(null);
+            }
+        }
+        return positions;
     }
 
     public static class ComparisonResult {
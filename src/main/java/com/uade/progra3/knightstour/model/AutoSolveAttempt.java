@@ -0,0 +1,74 @@
+package com.uade.progra3.knightstour.model;
+
+/**
+ * Una ejecución de un motor dentro de /auto: lo que el modelo de costos estimaba y lo que pasó
+ */
+public class AutoSolveAttempt {
+    private String engine;
+    private Double estimatedMs;           // null si el motor no se había ejecutado en este tablero
+    private Double estimatedSuccessRate;
+    private long actualMs;
+    private boolean resolved;             // Cumplió el pedido o demostró que no se puede cumplir
+    private String message;
+
+    public AutoSolveAttempt() {
+    }
+
+    public AutoSolveAttempt(String engine, Double estimatedMs, Double estimatedSuccessRate, long actualMs,
+                            boolean resolved, String message) {
+        this.engine = engine;
+        this.estimatedMs = estimatedMs;
+        this.estimatedSuccessRate = estimatedSuccessRate;
+        this.actualMs = actualMs;
+        this.resolved = resolved;
+        this.message = message;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public Double getEstimatedMs() {
+        return estimatedMs;
+    }
+
+    public void setEstimatedMs(Double estimatedMs) {
+        this.estimatedMs = estimatedMs;
+    }
+
+    public Double getEstimatedSuccessRate() {
+        return estimatedSuccessRate;
+    }
+
+    public void setEstimatedSuccessRate(Double estimatedSuccessRate) {
+        this.estimatedSuccessRate = estimatedSuccessRate;
+    }
+
+    public long getActualMs() {
+        return actualMs;
+    }
+
+    public void setActualMs(long actualMs) {
+        this.actualMs = actualMs;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    public void setResolved(boolean resolved) {
+        this.resolved = resolved;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
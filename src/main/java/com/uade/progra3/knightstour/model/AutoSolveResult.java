@@ -0,0 +1,123 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.List;
+
+/**
+ * Respuesta de /auto: el resultado del motor elegido y cómo se llegó a él.
+ */
+public class AutoSolveResult {
+    private String engine;  // Motor que produjo result (null si no hizo falta ejecutar ninguno)
+    private String reason;  // Por qué se eligió el primer motor
+    private boolean fallbackUsed;
+    private SolutionResult result;
+    private List<AutoSolveAttempt> attempts;  // Motores ejecutados, en orden
+    private long executionTimeMs;
+
+    public AutoSolveResult() {
+    }
+
+    public AutoSolveResult(String engine, String reason, boolean fallbackUsed, SolutionResult result,
+                           List<AutoSolveAttempt> attempts, long executionTimeMs) {
+        this.engine = engine;
+        this.reason = reason;
+        this.fallbackUsed = fallbackUsed;
+        this.result = result;
+        this.attempts = attempts;
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public boolean isFallbackUsed() {
+        return fallbackUsed;
+    }
+
+    public void setFallbackUsed(boolean fallbackUsed) {
+        this.fallbackUsed = fallbackUsed;
+    }
+
+    public SolutionResult getResult() {
+        return result;
+    }
+
+    public void setResult(SolutionResult result) {
+        this.result = result;
+    }
+
+    public List<AutoSolveAttempt> getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(List<AutoSolveAttempt> attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(long executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public static class Builder {
+        private String engine;
+        private String reason;
+        private boolean fallbackUsed;
+        private SolutionResult result;
+        private List<AutoSolveAttempt> attempts;
+        private long executionTimeMs;
+
+        public Builder engine(String engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder reason(String reason) {
+            this.reason = reason;
+            return this;
+        }
+
+        public Builder fallbackUsed(boolean fallbackUsed) {
+            this.fallbackUsed = fallbackUsed;
+            return this;
+        }
+
+        public Builder result(SolutionResult result) {
+            this.result = result;
+            return this;
+        }
+
+        public Builder attempts(List<AutoSolveAttempt> attempts) {
+            this.attempts = attempts;
+            return this;
+        }
+
+        public Builder executionTimeMs(long executionTimeMs) {
+            this.executionTimeMs = executionTimeMs;
+            return this;
+        }
+
+        public AutoSolveResult build() {
+            return new AutoSolveResult(engine, reason, fallbackUsed, result, attempts, executionTimeMs);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.uade.progra3.knightstour.model;
+
+public class BulkSolveItem {
+    private String algorithm;  // "backtracking" o "warnsdorff"
+    private int boardSize;
+    private int startRow;
+    private int startCol;
+
+    public BulkSolveItem() {
+    }
+
+    public BulkSolveItem(String algorithm, int boardSize, int startRow, int startCol) {
+        this.algorithm = algorithm;
+        this.boardSize = boardSize;
+        this.startRow = startRow;
+        this.startCol = startCol;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public void setBoardSize(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public void setStartRow(int startRow) {
+        this.startRow = startRow;
+    }
+
+    public int getStartCol() {
+        return startCol;
+    }
+
+    public void setStartCol(int startCol) {
+        this.startCol = startCol;
+    }
+}
@@ -0,0 +1,54 @@
+package com.uade.progra3.knightstour.model;
+
+/**
+ * Una línea de la respuesta del endpoint bulk. index es la posición del ítem en el
+ * request, ya que los resultados se devuelven en orden de finalización.
+ */
+public class BulkSolveResult {
+    private int index;
+    private BulkSolveItem item;
+    private SolutionResult result;
+    private String error;
+
+    public BulkSolveResult() {
+    }
+
+    public BulkSolveResult(int index, BulkSolveItem item, SolutionResult result, String error) {
+        this.index = index;
+        this.item = item;
+        this.result = result;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BulkSolveItem getItem() {
+        return item;
+    }
+
+    public void setItem(BulkSolveItem item) {
+        this.item = item;
+    }
+
+    public SolutionResult getResult() {
+        return result;
+    }
+
+    public void setResult(SolutionResult result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
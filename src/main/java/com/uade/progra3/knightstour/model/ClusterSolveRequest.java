@@ -0,0 +1,90 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.List;
+
+public class ClusterSolveRequest {
+    private int boardSize;
+    private Integer rows;                  // Opcional: tableros rectangulares (por defecto boardSize)
+    private Integer cols;
+    private List<Position> blockedSquares; // Opcional: casillas bloqueadas
+    private int startRow;
+    private int startCol;
+    private Long maxTours;                 // Opcional: cortar al encontrar esta cantidad (por defecto contar todos)
+    private Integer expansionDepth;        // Opcional: profundidad del frente que se reparte entre workers
+    private Long timeLimitMs;              // Opcional: tiempo límite; al vencer se devuelve un resultado parcial
+
+    public ClusterSolveRequest() {
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public void setBoardSize(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    public Integer getRows() {
+        return rows;
+    }
+
+    public void setRows(Integer rows) {
+        this.rows = rows;
+    }
+
+    public Integer getCols() {
+        return cols;
+    }
+
+    public void setCols(Integer cols) {
+        this.cols = cols;
+    }
+
+    public List<Position> getBlockedSquares() {
+        return blockedSquares;
+    }
+
+    public void setBlockedSquares(List<Position> blockedSquares) {
+        this.blockedSquares = blockedSquares;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public void setStartRow(int startRow) {
+        this.startRow = startRow;
+    }
+
+    public int getStartCol() {
+        return startCol;
+    }
+
+    public void setStartCol(int startCol) {
+        this.startCol = startCol;
+    }
+
+    public Long getMaxTours() {
+        return maxTours;
+    }
+
+    public void setMaxTours(Long maxTours) {
+        this.maxTours = maxTours;
+    }
+
+    public Integer getExpansionDepth() {
+        return expansionDepth;
+    }
+
+    public void setExpansionDepth(Integer expansionDepth) {
+        this.expansionDepth = expansionDepth;
+    }
+
+    public Long getTimeLimitMs() {
+        return timeLimitMs;
+    }
+
+    public void setTimeLimitMs(Long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+}
@@ -0,0 +1,189 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.List;
+
+/**
+ * Resultado de una búsqueda por backtracking repartida entre varias instancias.
+ */
+public class ClusterSolveResult {
+    private boolean complete;  // true si se exploró todo el árbol: tourCount es el total exacto
+    private long tourCount;
+    private List<int[][]> tours;
+    private long nodesExplored;
+    private int tasksCompleted;
+    private int tasksRequeued;  // Reasignadas porque el worker falló o no respondió a tiempo
+    private int tasksSplit;  // Ramas cedidas por workers que agotaron su presupuesto
+    private List<ClusterWorkerStats> workers;
+    private long executionTimeMs;
+    private String message;
+
+    public ClusterSolveResult() {
+    }
+
+    public ClusterSolveResult(boolean complete, long tourCount, List<int[][]> tours, long nodesExplored,
+                              int tasksCompleted, int tasksRequeued, int tasksSplit,
+                              List<ClusterWorkerStats> workers, long executionTimeMs, String message) {
+        this.complete = complete;
+        this.tourCount = tourCount;
+        this.tours = tours;
+        this.nodesExplored = nodesExplored;
+        this.tasksCompleted = tasksCompleted;
+        this.tasksRequeued = tasksRequeued;
+        this.tasksSplit = tasksSplit;
+        this.workers = workers;
+        this.executionTimeMs = executionTimeMs;
+        this.message = message;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getTourCount() {
+        return tourCount;
+    }
+
+    public void setTourCount(long tourCount) {
+        this.tourCount = tourCount;
+    }
+
+    public List<int[][]> getTours() {
+        return tours;
+    }
+
+    public void setTours(List<int[][]> tours) {
+        this.tours = tours;
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public void setNodesExplored(long nodesExplored) {
+        this.nodesExplored = nodesExplored;
+    }
+
+    public int getTasksCompleted() {
+        return tasksCompleted;
+    }
+
+    public void setTasksCompleted(int tasksCompleted) {
+        this.tasksCompleted = tasksCompleted;
+    }
+
+    public int getTasksRequeued() {
+        return tasksRequeued;
+    }
+
+    public void setTasksRequeued(int tasksRequeued) {
+        this.tasksRequeued = tasksRequeued;
+    }
+
+    public int getTasksSplit() {
+        return tasksSplit;
+    }
+
+    public void setTasksSplit(int tasksSplit) {
+        this.tasksSplit = tasksSplit;
+    }
+
+    public List<ClusterWorkerStats> getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(List<ClusterWorkerStats> workers) {
+        this.workers = workers;
+    }
+
+    public long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(long executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public static class Builder {
+        private boolean complete;
+        private long tourCount;
+        private List<int[][]> tours;
+        private long nodesExplored;
+        private int tasksCompleted;
+        private int tasksRequeued;
+        private int tasksSplit;
+        private List<ClusterWorkerStats> workers;
+        private long executionTimeMs;
+        private String message;
+
+        public Builder complete(boolean complete) {
+            this.complete = complete;
+            return this;
+        }
+
+        public Builder tourCount(long tourCount) {
+            this.tourCount = tourCount;
+            return this;
+        }
+
+        public Builder tours(List<int[][]> tours) {
+            this.tours = tours;
+            return this;
+        }
+
+        public Builder nodesExplored(long nodesExplored) {
+            this.nodesExplored = nodesExplored;
+            return this;
+        }
+
+        public Builder tasksCompleted(int tasksCompleted) {
+            this.tasksCompleted = tasksCompleted;
+            return this;
+        }
+
+        public Builder tasksRequeued(int tasksRequeued) {
+            this.tasksRequeued = tasksRequeued;
+            return this;
+        }
+
+        public Builder tasksSplit(int tasksSplit) {
+            this.tasksSplit = tasksSplit;
+            return this;
+        }
+
+        public Builder workers(List<ClusterWorkerStats> workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder executionTimeMs(long executionTimeMs) {
+            this.executionTimeMs = executionTimeMs;
+            return this;
+        }
+
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        public ClusterSolveResult build() {
+            return new ClusterSolveResult(complete, tourCount, tours, nodesExplored, tasksCompleted,
+                                          tasksRequeued, tasksSplit, workers, executionTimeMs, message);
+        }
+    }
+}
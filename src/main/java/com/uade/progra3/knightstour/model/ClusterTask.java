@@ -0,0 +1,115 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.List;
+
+/**
+ * Subárbol de la búsqueda por backtracking que el coordinador le asigna a un worker.
+ *
+ * cursor tiene el mismo formato que los de /backtracking/page y describe el camino desde
+ * la casilla inicial. rootDepth es la profundidad de la raíz del subárbol: el worker no
+ * retrocede por encima de ella. Si fresh es true la raíz todavía no se exploró; si no,
+ * el cursor es la continuación de una tarea que se pausó al agotar su presupuesto.
+ */
+public class ClusterTask {
+    private int rows;
+    private int cols;
+    private List<Position> blockedSquares;
+    private String cursor;
+    private int rootDepth;
+    private boolean fresh;
+    private long stopAfter;      // Pausar al encontrar esta cantidad de recorridos (0 = contar todos)
+    private int maxStoredTours;  // Recorridos que se devuelven completos; el resto solo se cuenta
+    private long nodeBudget;     // Nodos a explorar antes de pausar y devolver el resto
+
+    public ClusterTask() {
+    }
+
+    /**
+     * Copia el tablero y los límites de template con otro subárbol
+     */
+    public static ClusterTask of(ClusterTask template, String cursor, int rootDepth, boolean fresh) {
+        ClusterTask task = new ClusterTask();
+        task.rows = template.rows;
+        task.cols = template.cols;
+        task.blockedSquares = template.blockedSquares;
+        task.cursor = cursor;
+        task.rootDepth = rootDepth;
+        task.fresh = fresh;
+        task.stopAfter = template.stopAfter;
+        task.maxStoredTours = template.maxStoredTours;
+        task.nodeBudget = template.nodeBudget;
+        return task;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public void setCols(int cols) {
+        this.cols = cols;
+    }
+
+    public List<Position> getBlockedSquares() {
+        return blockedSquares;
+    }
+
+    public void setBlockedSquares(List<Position> blockedSquares) {
+        this.blockedSquares = blockedSquares;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getRootDepth() {
+        return rootDepth;
+    }
+
+    public void setRootDepth(int rootDepth) {
+        this.rootDepth = rootDepth;
+    }
+
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    public void setFresh(boolean fresh) {
+        this.fresh = fresh;
+    }
+
+    public long getStopAfter() {
+        return stopAfter;
+    }
+
+    public void setStopAfter(long stopAfter) {
+        this.stopAfter = stopAfter;
+    }
+
+    public int getMaxStoredTours() {
+        return maxStoredTours;
+    }
+
+    public void setMaxStoredTours(int maxStoredTours) {
+        this.maxStoredTours = maxStoredTours;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public void setNodeBudget(long nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+}
@@ -0,0 +1,58 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de explorar una ClusterTask. remaining tiene lo que quedó sin explorar al
+ * agotarse el presupuesto de nodos: la continuación de la tarea y las ramas cedidas para
+ * que las tomen otros workers. Vacío si el subárbol se exploró completo.
+ */
+public class ClusterWorkResult {
+    private long tourCount;
+    private List<int[][]> tours = new ArrayList<>();
+    private long nodesExplored;
+    private List<ClusterTask> remaining = new ArrayList<>();
+
+    public ClusterWorkResult() {
+    }
+
+    public ClusterWorkResult(long tourCount, List<int[][]> tours, long nodesExplored, List<ClusterTask> remaining) {
+        this.tourCount = tourCount;
+        this.tours = tours;
+        this.nodesExplored = nodesExplored;
+        this.remaining = remaining;
+    }
+
+    public long getTourCount() {
+        return tourCount;
+    }
+
+    public void setTourCount(long tourCount) {
+        this.tourCount = tourCount;
+    }
+
+    public List<int[][]> getTours() {
+        return tours;
+    }
+
+    public void setTours(List<int[][]> tours) {
+        this.tours = tours;
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public void setNodesExplored(long nodesExplored) {
+        this.nodesExplored = nodesExplored;
+    }
+
+    public List<ClusterTask> getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(List<ClusterTask> remaining) {
+        this.remaining = remaining;
+    }
+}
@@ -0,0 +1,63 @@
+package com.uade.progra3.knightstour.model;
+
+/**
+ * Trabajo que hizo un worker durante una búsqueda en modo cluster
+ */
+public class ClusterWorkerStats {
+    private String url;
+    private int tasksCompleted;
+    private long nodesExplored;
+    private int failures;
+    private boolean alive;
+
+    public ClusterWorkerStats() {
+    }
+
+    public ClusterWorkerStats(String url, int tasksCompleted, long nodesExplored, int failures, boolean alive) {
+        this.url = url;
+        this.tasksCompleted = tasksCompleted;
+        this.nodesExplored = nodesExplored;
+        this.failures = failures;
+        this.alive = alive;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getTasksCompleted() {
+        return tasksCompleted;
+    }
+
+    public void setTasksCompleted(int tasksCompleted) {
+        this.tasksCompleted = tasksCompleted;
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public void setNodesExplored(long nodesExplored) {
+        this.nodesExplored = nodesExplored;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public void setFailures(int failures) {
+        this.failures = failures;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+
+    public void setAlive(boolean alive) {
+        this.alive = alive;
+    }
+}
@@ -1,11 +1,18 @@
 package com.uade.progra3.knightstour.model;
 
+import java.util.List;
+
 public class DynamicProgrammingRequest {
     private int boardSize;
+    private Integer rows;                  // Opcional: tableros rectangulares (por defecto boardSize)
+    private Integer cols;
+    private List<Position> blockedSquares; // Opcional: casillas bloqueadas
     private int startRow;
     private int startCol;
     private int maxMoves;
     private int[][] pointsBoard;
+    private Integer beamWidth;             // Opcional: ancho del beam (camino simple)
+    private Long timeLimitMs;              // Opcional: tiempo límite del modo anytime (camino simple)
 
     public DynamicProgrammingRequest() {
     }
@@ -26,6 +33,30 @@ public class DynamicProgrammingRequest {
         this.boardSize = boardSize;
     }
 
+    public Integer getRows() {
+        return rows;
+    }
+
+    public void setRows(Integer rows) {
+        this.rows = rows;
+    }
+
+    public Integer getCols() {
+        return cols;
+    }
+
+    public void setCols(Integer cols) {
+        this.cols = cols;
+    }
+
+    public List<Position> getBlockedSquares() {
+        return blockedSquares;
+    }
+
+    public void setBlockedSquares(List<Position> blockedSquares) {
+        this.blockedSquares = blockedSquares;
+    }
+
     public int getStartRow() {
         return startRow;
     }
@@ -57,4 +88,20 @@ public class DynamicProgrammingRequest {
     public void setPointsBoard(int[][] pointsBoard) {
         this.pointsBoard = pointsBoard;
     }
+
+    public Integer getBeamWidth() {
+        return beamWidth;
+    }
+
+    public void setBeamWidth(Integer beamWidth) {
+        this.beamWidth = beamWidth;
+    }
+
+    public Long getTimeLimitMs() {
+        return timeLimitMs;
+    }
+
+    public void setTimeLimitMs(Long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
 }
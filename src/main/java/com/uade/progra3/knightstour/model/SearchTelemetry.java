@@ -0,0 +1,144 @@
+package com.uade.progra3.knightstour.model;
+
+import java.util.List;
+
+/**
+ * Métricas del árbol de búsqueda de una ejecución. Solo se completan si se piden
+ * (parámetro telemetry=true); si no, SolutionResult.telemetry queda en null.
+ *
+ * La profundidad de un nodo es la cantidad de movimientos hechos desde la casilla inicial.
+ */
+public class SearchTelemetry {
+    private long[] nodesPerDepth;
+    private long[] deadEndsPerDepth;  // Nodos sin movimientos posibles antes de completar el recorrido
+    private long[] prunedPerDepth;    // Nodos con movimientos cuyo subárbol descartó la poda
+    private double effectiveBranchingFactor;
+    private int maxDepth;
+    private Double timeToFirstSolutionMs;  // null si no se encontró solución
+    private List<Double> solutionTimesMs;  // Tiempo desde el inicio hasta cada solución
+
+    public SearchTelemetry() {
+    }
+
+    public SearchTelemetry(long[] nodesPerDepth, long[] deadEndsPerDepth, long[] prunedPerDepth,
+                           double effectiveBranchingFactor, int maxDepth, Double timeToFirstSolutionMs,
+                           List<Double> solutionTimesMs) {
+        this.nodesPerDepth = nodesPerDepth;
+        this.deadEndsPerDepth = deadEndsPerDepth;
+        this.prunedPerDepth = prunedPerDepth;
+        this.effectiveBranchingFactor = effectiveBranchingFactor;
+        this.maxDepth = maxDepth;
+        this.timeToFirstSolutionMs = timeToFirstSolutionMs;
+        this.solutionTimesMs = solutionTimesMs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long[] getNodesPerDepth() {
+        return nodesPerDepth;
+    }
+
+    public void setNodesPerDepth(long[] nodesPerDepth) {
+        this.nodesPerDepth = nodesPerDepth;
+    }
+
+    public long[] getDeadEndsPerDepth() {
+        return deadEndsPerDepth;
+    }
+
+    public void setDeadEndsPerDepth(long[] deadEndsPerDepth) {
+        this.deadEndsPerDepth = deadEndsPerDepth;
+    }
+
+    public long[] getPrunedPerDepth() {
+        return prunedPerDepth;
+    }
+
+    public void setPrunedPerDepth(long[] prunedPerDepth) {
+        this.prunedPerDepth = prunedPerDepth;
+    }
+
+    public double getEffectiveBranchingFactor() {
+        return effectiveBranchingFactor;
+    }
+
+    public void setEffectiveBranchingFactor(double effectiveBranchingFactor) {
+        this.effectiveBranchingFactor = effectiveBranchingFactor;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public Double getTimeToFirstSolutionMs() {
+        return timeToFirstSolutionMs;
+    }
+
+    public void setTimeToFirstSolutionMs(Double timeToFirstSolutionMs) {
+        this.timeToFirstSolutionMs = timeToFirstSolutionMs;
+    }
+
+    public List<Double> getSolutionTimesMs() {
+        return solutionTimesMs;
+    }
+
+    public void setSolutionTimesMs(List<Double> solutionTimesMs) {
+        this.solutionTimesMs = solutionTimesMs;
+    }
+
+    public static class Builder {
+        private long[] nodesPerDepth;
+        private long[] deadEndsPerDepth;
+        private long[] prunedPerDepth;
+        private double effectiveBranchingFactor;
+        private int maxDepth;
+        private Double timeToFirstSolutionMs;
+        private List<Double> solutionTimesMs;
+
+        public Builder nodesPerDepth(long[] nodesPerDepth) {
+            this.nodesPerDepth = nodesPerDepth;
+            return this;
+        }
+
+        public Builder deadEndsPerDepth(long[] deadEndsPerDepth) {
+            this.deadEndsPerDepth = deadEndsPerDepth;
+            return this;
+        }
+
+        public Builder prunedPerDepth(long[] prunedPerDepth) {
+            this.prunedPerDepth = prunedPerDepth;
+            return this;
+        }
+
+        public Builder effectiveBranchingFactor(double effectiveBranchingFactor) {
+            this.effectiveBranchingFactor = effectiveBranchingFactor;
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder timeToFirstSolutionMs(Double timeToFirstSolutionMs) {
+            this.timeToFirstSolutionMs = timeToFirstSolutionMs;
+            return this;
+        }
+
+        public Builder solutionTimesMs(List<Double> solutionTimesMs) {
+            this.solutionTimesMs = solutionTimesMs;
+            return this;
+        }
+
+        public SearchTelemetry build() {
+            return new SearchTelemetry(nodesPerDepth, deadEndsPerDepth, prunedPerDepth, effectiveBranchingFactor,
+                                       maxDepth, timeToFirstSolutionMs, solutionTimesMs);
+        }
+    }
+}
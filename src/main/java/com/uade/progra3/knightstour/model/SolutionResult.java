@@ -12,13 +12,15 @@ public class SolutionResult {
     private ComplexityAnalysis complexity;
     private String message;
     private List<int[][]> alternativeSolutions;  // Soluciones alternativas
+    private SearchTelemetry telemetry;  // Solo si se pidió telemetry=true
+    private String nextCursor;  // Backtracking paginado: cursor de la página siguiente (null = no hay más)
 
     public SolutionResult() {
     }
 
     public SolutionResult(boolean success, int[][] board, List<Position> path, long executionTimeMs,
                           int stepsExplored, String algorithmName, ComplexityAnalysis complexity, String message,
-                          List<int[][]> alternativeSolutions) {
+                          List<int[][]> alternativeSolutions, SearchTelemetry telemetry, String nextCursor) {
         this.success = success;
         this.board = board;
         this.path = path;
@@ -28,6 +30,8 @@ public class SolutionResult {
         this.complexity = complexity;
         this.message = message;
         this.alternativeSolutions = alternativeSolutions;
+        this.telemetry = telemetry;
+        this.nextCursor = nextCursor;
     }
 
     public static Builder builder() {
@@ -106,6 +110,22 @@ public class SolutionResult {
         this.alternativeSolutions = alternativeSolutions;
     }
 
+    public SearchTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public void setTelemetry(SearchTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public static class Builder {
         private boolean success;
         private int[][] board;
@@ -116,6 +136,8 @@ public class SolutionResult {
         private ComplexityAnalysis complexity;
         private String message;
         private List<int[][]> alternativeSolutions;
+        private SearchTelemetry telemetry;
+        private String nextCursor;
 
         public Builder success(boolean success) {
             this.success = success;
@@ -162,9 +184,19 @@ public class SolutionResult {
             return this;
         }
 
+        public Builder telemetry(SearchTelemetry telemetry) {
+            this.telemetry = telemetry;
+            return this;
+        }
+
+        public Builder nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
         public SolutionResult build() {
             return new SolutionResult(success, board, path, executionTimeMs, stepsExplored,
-                                     algorithmName, complexity, message, alternativeSolutions);
+                                     algorithmName, complexity, message, alternativeSolutions, telemetry, nextCursor);
         }
     }
 }
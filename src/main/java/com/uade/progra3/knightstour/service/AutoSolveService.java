@@ -0,0 +1,321 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.AutoSolveAttempt;
+import com.uade.progra3.knightstour.model.AutoSolveResult;
+import com.uade.progra3.knightstour.model.ComplexityAnalysis;
+import com.uade.progra3.knightstour.model.Position;
+import com.uade.progra3.knightstour.model.SolutionResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Elige el motor para un pedido (cualquier recorrido, recorrido cerrado, N alternativas,
+ * presupuesto de latencia) según lo que costó cada motor en ejecuciones anteriores
+ * ({@link SolverCostModel}).
+ *
+ * Motores:
+ * - warnsdorff: un greedy determinista, O(n²). Solo para un recorrido abierto.
+ * - warnsdorff-random: greedys con desempate aleatorio y semillas 1, 2, ... hasta juntar
+ *   los recorridos pedidos (distintos y, si se pide, cerrados) o vencer el presupuesto.
+ * - backtracking: búsqueda exhaustiva paginada (hasta 8x8) con el límite de nodos que entra
+ *   en el presupuesto según los ns/nodo observados. Si agota el árbol, la respuesta es
+ *   definitiva aunque haya menos recorridos que los pedidos.
+ *
+ * Se prueban en orden: primero el más rápido entre los que probablemente resuelven el pedido
+ * dentro del presupuesto, y si no lo resuelve se sigue con el próximo. Cada motor salvo el
+ * último tiene un tope de tiempo (SLICE_FACTOR veces lo estimado, y al menos una fracción
+ * del presupuesto) para que un muestreo sin suerte no le quite todo el tiempo al fallback.
+ * Cada ejecución actualiza el modelo, así un greedy que se traba desde cierta casilla deja de
+ * elegirse para esa casilla.
+ */
+@Service
+public class AutoSolveService {
+
+    public static final int MAX_ALTERNATIVES = BacktrackingService.MAX_PAGE_SIZE;
+    public static final long MAX_BUDGET_MS = 60_000;
+
+    static final String WARNSDORFF = "warnsdorff";
+    static final String WARNSDORFF_RANDOM = "warnsdorff-random";
+    static final String BACKTRACKING = "backtracking";
+
+    private static final double MIN_SUCCESS_RATE = 0.5;       // Por debajo se prueba solo como fallback
+    private static final double DEFAULT_NANOS_PER_NODE = 250; // Conservador hasta medir el tablero
+    private static final long MIN_NODE_LIMIT = 50_000;
+    private static final double SLICE_FACTOR = 4;             // Tope de un motor que no es el último
+    private static final int MIN_SLICE_DIVISOR = 10;          // ... y al menos presupuesto / 10
+
+    private final WarnsdorffService warnsdorffService;
+    private final BacktrackingService backtrackingService;
+    private final SolverCostModel costModel;
+
+    public AutoSolveService(WarnsdorffService warnsdorffService,
+                            BacktrackingService backtrackingService,
+                            SolverCostModel costModel) {
+        this.warnsdorffService = warnsdorffService;
+        this.backtrackingService = backtrackingService;
+        this.costModel = costModel;
+    }
+
+    public AutoSolveResult solve(KnightGraph graph, int startRow, int startCol,
+                                 boolean closed, int alternatives, long budgetMs) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + budgetMs;
+        int start = graph.index(startRow, startCol);
+
+        // El caballo alterna colores: un recorrido cerrado necesita una cantidad par de casillas
+        if (closed && graph.getOpenSquares() % 2 != 0) {
+            return AutoSolveResult.builder()
+                .reason("Con una cantidad impar de casillas no existe recorrido cerrado; no hace falta buscar")
+                .result(emptyResult("No existe recorrido cerrado en un tablero con cantidad impar de casillas"))
+                .attempts(new ArrayList<>())
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .build();
+        }
+
+        String variant = (closed ? "closed" : "open") + "|" + alternatives;
+        List<Candidate> plan = plan(graph, start, closed, alternatives, budgetMs, variant);
+        String reason = reason(plan, budgetMs);
+
+        List<AutoSolveAttempt> attempts = new ArrayList<>();
+        Outcome best = null;
+        for (int i = 0; i < plan.size(); i++) {
+            Candidate candidate = plan.get(i);
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0 && !attempts.isEmpty()) {
+                break;
+            }
+            long slice = i == plan.size() - 1 ? remaining
+                : Math.min(remaining, Math.max((long) (SLICE_FACTOR * candidate.timeMs), budgetMs / MIN_SLICE_DIVISOR));
+
+            long attemptStart = System.currentTimeMillis();
+            Outcome outcome = run(candidate, graph, startRow, startCol, closed, alternatives,
+                                  attemptStart + Math.max(slice, 1));
+            long actualMs = System.currentTimeMillis() - attemptStart;
+            costModel.record(candidate.engine, variant, graph, start, actualMs, outcome.resolved, outcome.nodes);
+
+            attempts.add(new AutoSolveAttempt(candidate.engine,
+                candidate.estimate != null ? candidate.estimate.getTimeMs() : null,
+                candidate.estimate != null ? candidate.estimate.getSuccessRate() : null,
+                actualMs, outcome.resolved, outcome.result.getMessage()));
+
+            if (best == null || outcome.resolved || outcome.tours > best.tours) {
+                best = outcome;
+            }
+            if (outcome.resolved) {
+                break;
+            }
+        }
+
+        return AutoSolveResult.builder()
+            .engine(best != null ? best.engine : null)
+            .reason(reason)
+            .fallbackUsed(attempts.size() > 1)
+            .result(best != null ? best.result : emptyResult("Ningún motor disponible para este pedido"))
+            .attempts(attempts)
+            .executionTimeMs(System.currentTimeMillis() - startTime)
+            .build();
+    }
+
+    /**
+     * Motores que pueden resolver el pedido, en el orden en que se van a probar: primero los
+     * que probablemente lo resuelven dentro del presupuesto, del más rápido al más lento;
+     * después el resto, del más probable al menos probable.
+     */
+    private List<Candidate> plan(KnightGraph graph, int start, boolean closed, int alternatives,
+                                 long budgetMs, String variant) {
+        int open = graph.getOpenSquares();
+        List<Candidate> candidates = new ArrayList<>();
+
+        if (!closed && alternatives == 1) {
+            candidates.add(candidate(WARNSDORFF, variant, graph, start, 0.002 * open, 0.9));
+        }
+        candidates.add(candidate(WARNSDORFF_RANDOM, variant, graph, start,
+                                 alternatives * (closed ? 20 : 1.5) * 0.002 * open, closed ? 0.6 : 0.85));
+        if (graph.getRows() <= BacktrackingService.MAX_BOARD_SIZE
+                && graph.getCols() <= BacktrackingService.MAX_BOARD_SIZE) {
+            double priorMs = open <= 25 ? 20 : open <= 36 ? 200 : 2000;
+            candidates.add(candidate(BACKTRACKING, variant, graph, start,
+                                     closed ? priorMs * 2 : priorMs, open <= 36 ? 0.95 : 0.7));
+        }
+
+        candidates.sort(Comparator
+            .comparing((Candidate c) -> !c.fits(budgetMs))
+            .thenComparing(c -> c.fits(budgetMs) ? c.timeMs : -c.successRate)
+            .thenComparingDouble(c -> c.timeMs));
+        return candidates;
+    }
+
+    private Candidate candidate(String engine, String variant, KnightGraph graph, int start,
+                                double priorMs, double priorSuccessRate) {
+        SolverCostModel.Estimate estimate = costModel.estimate(engine, variant, graph, start);
+        return estimate != null
+            ? new Candidate(engine, estimate.getTimeMs(), estimate.getSuccessRate(), estimate)
+            : new Candidate(engine, priorMs, priorSuccessRate, null);
+    }
+
+    private String reason(List<Candidate> plan, long budgetMs) {
+        Candidate first = plan.get(0);
+        String source;
+        if (first.estimate == null) {
+            source = "estimación inicial, sin ejecuciones previas en este tablero";
+        } else if (first.estimate.isExactStart()) {
+            source = String.format("%d ejecuciones previas desde esta casilla", first.estimate.getSamples());
+        } else {
+            source = String.format("%d ejecuciones previas en este tablero", first.estimate.getSamples());
+        }
+        String choice = first.fits(budgetMs)
+            ? String.format("el más rápido que probablemente resuelve el pedido dentro de %d ms", budgetMs)
+            : String.format("ninguno entra con seguridad en %d ms; es el de mayor probabilidad de éxito", budgetMs);
+        return String.format("%s: estimado %.1f ms y %.0f%% de éxito (%s); %s",
+                             first.engine, first.timeMs, first.successRate * 100, source, choice);
+    }
+
+    private Outcome run(Candidate candidate, KnightGraph graph, int startRow, int startCol,
+                        boolean closed, int alternatives, long deadline) {
+        switch (candidate.engine) {
+            case WARNSDORFF: {
+                SolutionResult result = warnsdorffService.solve(graph, startRow, startCol);
+                return new Outcome(WARNSDORFF, result, result.isSuccess(), result.isSuccess() ? 1 : 0, 0);
+            }
+            case WARNSDORFF_RANDOM:
+                return sampleGreedy(graph, startRow, startCol, closed, alternatives, deadline);
+            default: {
+                double nanosPerNode = candidate.estimate != null && candidate.estimate.getNanosPerNode() > 0
+                    ? candidate.estimate.getNanosPerNode() : DEFAULT_NANOS_PER_NODE;
+                long remainingMs = Math.max(0, deadline - System.currentTimeMillis());
+                long nodeLimit = Math.max(MIN_NODE_LIMIT, (long) (remainingMs * 1_000_000 / nanosPerNode));
+
+                SolutionResult result = backtrackingService.solvePage(graph, startRow, startCol, null,
+                                                                      alternatives, closed, nodeLimit);
+                int tours = result.isSuccess() ? 1 + result.getAlternativeSolutions().size() : 0;
+                boolean exhausted = result.getNextCursor() == null;
+                result.setNextCursor(null);
+                String kind = closed ? " cerrados" : "";
+                if (tours >= alternatives) {
+                    result.setMessage(String.format("%d recorridos%s encontrados", tours, kind));
+                } else if (!exhausted) {
+                    result.setMessage(String.format("Se alcanzó el límite de %d nodos con %d de %d recorridos%s",
+                                                    nodeLimit, tours, alternatives, kind));
+                } else if (tours == 0) {
+                    result.setMessage(String.format("No existe recorrido%s desde esta casilla (árbol explorado completo)",
+                                                    closed ? " cerrado" : ""));
+                } else {
+                    result.setMessage(String.format("Solo existen %d recorridos%s desde esta casilla", tours, kind));
+                }
+                return new Outcome(BACKTRACKING, result, tours >= alternatives || exhausted, tours,
+                                   result.getStepsExplored());
+            }
+        }
+    }
+
+    /**
+     * Greedys con semillas 1, 2, ... hasta juntar alternatives recorridos distintos que
+     * cumplan el pedido o llegar a deadline
+     */
+    private Outcome sampleGreedy(KnightGraph graph, int startRow, int startCol,
+                                 boolean closed, int alternatives, long deadline) {
+        long startTime = System.currentTimeMillis();
+        Set<List<Integer>> seen = new HashSet<>();
+        List<SolutionResult> tours = new ArrayList<>();
+        int steps = 0;
+        long seed = 1;
+
+        do {
+            SolutionResult attempt = warnsdorffService.solveRandomized(graph, startRow, startCol, seed++);
+            steps += attempt.getStepsExplored();
+            if (attempt.isSuccess() && (!closed || isClosed(attempt.getPath())) && seen.add(pathKey(graph, attempt.getPath()))) {
+                tours.add(attempt);
+            }
+        } while (tours.size() < alternatives && System.currentTimeMillis() < deadline);
+
+        boolean success = !tours.isEmpty();
+        List<int[][]> others = new ArrayList<>();
+        for (int i = 1; i < tours.size(); i++) {
+            others.add(tours.get(i).getBoard());
+        }
+        SolutionResult result = SolutionResult.builder()
+            .success(success)
+            .board(success ? tours.get(0).getBoard() : null)
+            .path(success ? tours.get(0).getPath() : null)
+            .executionTimeMs(System.currentTimeMillis() - startTime)
+            .stepsExplored(steps)
+            .algorithmName("Warnsdorff's Heuristic (Randomized sampling)")
+            .complexity(ComplexityAnalysis.builder()
+                .timeComplexity("O(k · n²)")
+                .spaceComplexity("O(n²)")
+                .description("Repite Warnsdorff con desempate aleatorio (k semillas) y se queda con los " +
+                            "recorridos distintos que cumplen el pedido.")
+                .build())
+            .alternativeSolutions(others)
+            .message(String.format("%d de %d recorridos%s con %d semillas", tours.size(), alternatives,
+                                   closed ? " cerrados" : "", seed - 1))
+            .build();
+        return new Outcome(WARNSDORFF_RANDOM, result, tours.size() >= alternatives, tours.size(), 0);
+    }
+
+    /**
+     * Clave por valor del recorrido (Position no define equals/hashCode): índices de casilla en orden
+     */
+    private static List<Integer> pathKey(KnightGraph graph, List<Position> path) {
+        List<Integer> key = new ArrayList<>(path.size());
+        for (Position position : path) {
+            key.add(graph.index(position.getRow(), position.getCol()));
+        }
+        return key;
+    }
+
+    private static boolean isClosed(List<Position> path) {
+        Position first = path.get(0);
+        Position last = path.get(path.size() - 1);
+        int dr = Math.abs(first.getRow() - last.getRow());
+        int dc = Math.abs(first.getCol() - last.getCol());
+        return (dr == 1 && dc == 2) || (dr == 2 && dc == 1);
+    }
+
+    private static SolutionResult emptyResult(String message) {
+        return SolutionResult.builder()
+            .success(false)
+            .algorithmName("Auto")
+            .message(message)
+            .build();
+    }
+
+    private static class Candidate {
+        private final String engine;
+        private final double timeMs;
+        private final double successRate;
+        private final SolverCostModel.Estimate estimate;  // null = valores iniciales
+
+        Candidate(String engine, double timeMs, double successRate, SolverCostModel.Estimate estimate) {
+            this.engine = engine;
+            this.timeMs = timeMs;
+            this.successRate = successRate;
+            this.estimate = estimate;
+        }
+
+        boolean fits(long budgetMs) {
+            return successRate >= MIN_SUCCESS_RATE && timeMs <= budgetMs;
+        }
+    }
+
+    private static class Outcome {
+        private final String engine;
+        private final SolutionResult result;
+        private final boolean resolved;  // Cumplió el pedido o demostró que no se puede cumplir
+        private final int tours;
+        private final long nodes;
+
+        Outcome(String engine, SolutionResult result, boolean resolved, int tours, long nodes) {
+            this.engine = engine;
+            this.result = result;
+            this.resolved = resolved;
+            this.tours = tours;
+            this.nodes = nodes;
+        }
+    }
+}
@@ -1,148 +1,745 @@
 package com.uade.progra3.knightstour.service;
 
+import com.uade.progra3.knightstour.model.ClusterTask;
+import com.uade.progra3.knightstour.model.ClusterWorkResult;
 import com.uade.progra3.knightstour.model.ComplexityAnalysis;
-import com.uade.progra3.knightstour.model.Position;
 import com.uade.progra3.knightstour.model.SolutionResult;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Implementación del algoritmo de Backtracking para el Knight's Tour Problem.
- * 
+ *
  * Este algoritmo intenta todos los caminos posibles recursivamente.
  * Si encuentra un camino válido, lo retorna. Si no, hace backtrack y prueba otro camino.
- * 
+ *
+ * Se descartan los subárboles que se sabe que no contienen recorridos:
+ * - los que dejan casillas sin salida (ver Board.cannotComplete), en cualquier tablero;
+ * - en tableros de hasta 58 casillas (7x7), los estados que ya se exploraron sin encontrar
+ *   recorrido y a los que se vuelve por otro orden de movimientos ({@link FailedStateTable}).
+ * Ninguna de las dos podas cambia las soluciones ni su orden.
+ *
+ * solvePage() recorre el mismo árbol en el mismo orden pero de forma iterativa y
+ * devuelve las soluciones de a páginas: el estado de la búsqueda viaja en un cursor
+ * opaco, así cada página cuesta lo que se explora en ella y no hay sesión en el servidor.
+ * Con el mismo cursor el modo cluster reparte subárboles entre instancias
+ * (expandFrontier() y exploreSubtree(), ver ClusterCoordinatorService).
+ *
  * Complejidad:
  * - Tiempo: O(8^(n²)) en el peor caso, ya que en cada casilla tenemos hasta 8 movimientos posibles
  * - Espacio: O(n²) para el tablero + O(n²) para la pila de recursión
  */
 @Service
 public class BacktrackingService {
-    
-    // Movimientos posibles del caballo en ajedrez (L-shape)
-    private static final int[] ROW_MOVES = {2, 1, -1, -2, -2, -1, 1, 2};
-    private static final int[] COL_MOVES = {1, 2, 2, 1, -1, -2, -2, -1};
-    
-    private int stepsExplored;
-    private List<int[][]> allSolutions;  // Almacenar todas las soluciones encontradas
+
+    public static final int MAX_BOARD_SIZE = 8;  // Lado máximo aceptado por la API
+
     private static final int MAX_SOLUTIONS = 6;  // Limitar a 6 soluciones (1 principal + 5 alternativas)
 
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final long PAGE_NODE_LIMIT = 20_000_000;  // Nodos por página antes de pausar
+    private static final int CURSOR_VERSION = 1;
+
+    public static final int MAX_EXPANSION_DEPTH = 6;  // 8x8 a profundidad 6: decenas de miles de tareas
+
+    // Tabla de estados fallidos: 2^14 buckets de 4 entradas (~768 KB por búsqueda, entra en caché)
+    private static final int FAILED_TABLE_BUCKET_BITS = 14;
+    // Con menos casillas por recorrer, re-explorar el subárbol cuesta menos que consultar la tabla
+    private static final int MIN_REMAINING_TO_STORE = 8;
+    private static final int INTERRUPT_CHECK_MASK = (1 << 14) - 1;  // Nodos entre chequeos de interrupción
+
+    private final KnightGraphCache graphCache;
+
+    public BacktrackingService(KnightGraphCache graphCache) {
+        this.graphCache = graphCache;
+    }
+
     public SolutionResult solve(int boardSize, int startRow, int startCol) {
+        return solve(graphCache.square(boardSize), startRow, startCol);
+    }
+
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol) {
+        return solve(graph, startRow, startCol, false);
+    }
+
+    /**
+     * Si el hilo se interrumpe (p. ej. al cancelar el Future que lo ejecuta) la búsqueda
+     * se abandona con CancellationException; sin esto un 8x8 desfavorable no termina nunca.
+     *
+     * @param telemetry si es true, registra nodos y callejones sin salida por profundidad
+     *                  y el tiempo hasta cada solución (ver {@link SearchTelemetryRecorder})
+     */
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol, boolean telemetry) {
         long startTime = System.currentTimeMillis();
-        stepsExplored = 0;
-        allSolutions = new ArrayList<>();
-        
-        int[][] board = new int[boardSize][boardSize];
-        List<Position> path = new ArrayList<>();
-        
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = -1;
-            }
-        }
-        
-        board[startRow][startCol] = 0;
-        path.add(new Position(startRow, startCol));
-        
-        solveKnightTourAll(board, startRow, startCol, 1, boardSize, path);
-        
+
+        Search search = new Search(graph, telemetry
+            ? new SearchTelemetryRecorder(graph.getOpenSquares() - 1, System.nanoTime())
+            : null);
+        int start = graph.index(startRow, startCol);
+        search.board.visit(start, 0);
+
+        search.solveKnightTourAll(start, 1);
+
         long executionTime = System.currentTimeMillis() - startTime;
+        List<int[]> allSolutions = search.solutions;
         boolean success = !allSolutions.isEmpty();
-        
+
         ComplexityAnalysis complexity = ComplexityAnalysis.builder()
             .timeComplexity("O(8^(n²))")
             .spaceComplexity("O(n²)")
             .description("Explora exhaustivamente todos los caminos posibles con backtracking. " +
-                        "En cada casilla prueba hasta 8 movimientos diferentes.")
+                        "En cada casilla prueba hasta 8 movimientos diferentes y descarta las ramas " +
+                        "que dejan casillas sin salida o que ya fallaron por otro orden de movimientos.")
             .build();
-        
+
         List<int[][]> alternatives = new ArrayList<>();
-        if (allSolutions.size() > 1) {
-            alternatives = allSolutions.subList(1, Math.min(allSolutions.size(), MAX_SOLUTIONS));
+        for (int i = 1; i < allSolutions.size(); i++) {
+            alternatives.add(graph.toBoard(allSolutions.get(i)));
         }
-        
+
         return SolutionResult.builder()
             .success(success)
-            .board(success ? allSolutions.get(0) : null)
-            .path(success ? reconstructPath(allSolutions.get(0), boardSize) : null)
+            .board(success ? graph.toBoard(allSolutions.get(0)) : null)
+            .path(success ? graph.toPath(allSolutions.get(0)) : null)
             .executionTimeMs(executionTime)
-            .stepsExplored(stepsExplored)
+            .stepsExplored(search.stepsExplored)
             .algorithmName("Backtracking")
             .complexity(complexity)
             .alternativeSolutions(alternatives)
-            .message(success ? 
-                    String.format("Solución encontrada. %d caminos diferentes encontrados.", allSolutions.size()) : 
+            .telemetry(search.telemetry != null ? search.telemetry.build() : null)
+            .message(success ?
+                    String.format("Solución encontrada. %d caminos diferentes encontrados.", allSolutions.size()) :
                     "No se encontró solución para este tablero")
             .build();
     }
 
     /**
-     * Función recursiva que busca TODAS las soluciones
+     * Devuelve las siguientes pageSize soluciones a partir del cursor (null = desde el inicio).
+     *
+     * Si se exploran PAGE_NODE_LIMIT nodos sin completar la página, devuelve las soluciones
+     * encontradas hasta ahí con un cursor para seguir. nextCursor es null cuando ya no quedan soluciones.
+     *
+     * La tabla de estados fallidos no viaja en el cursor: cada página empieza con una vacía.
+     * Las soluciones y su orden no dependen del tamaño de página, pero la suma de stepsExplored
+     * de todas las páginas sí (páginas más chicas vuelven a explorar estados ya descartados).
+     *
+     * @throws IllegalArgumentException si el cursor está mal formado o es de otro tablero o posición inicial
+     */
+    public SolutionResult solvePage(KnightGraph graph, int startRow, int startCol, String cursor, int pageSize) {
+        return solvePage(graph, startRow, startCol, cursor, pageSize, false, PAGE_NODE_LIMIT);
+    }
+
+    /**
+     * Como {@link #solvePage(KnightGraph, int, int, String, int)} pero con límite de nodos a
+     * elección y, con closed, solo recorridos cerrados (la última casilla ataca a la inicial).
+     * El cursor de una búsqueda de recorridos cerrados solo sirve para seguir con closed.
+     */
+    public SolutionResult solvePage(KnightGraph graph, int startRow, int startCol, String cursor, int pageSize,
+                                    boolean closed, long nodeLimit) {
+        long startTime = System.currentTimeMillis();
+
+        int start = graph.index(startRow, startCol);
+        ResumableSearch search = cursor == null
+            ? ResumableSearch.fromStart(graph, start, closed)
+            : ResumableSearch.fromCursor(graph, start, cursor, 0, false, closed);
+        boolean exhausted = search.run(pageSize, nodeLimit);
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        List<int[]> page = search.solutions;
+        boolean success = !page.isEmpty();
+
+        List<int[][]> alternatives = new ArrayList<>();
+        for (int i = 1; i < page.size(); i++) {
+            alternatives.add(graph.toBoard(page.get(i)));
+        }
+
+        String message;
+        if (exhausted) {
+            message = String.format("%d soluciones en esta página. No quedan más soluciones.", page.size());
+        } else if (page.size() < pageSize) {
+            message = String.format("%d soluciones en esta página. Se alcanzó el límite de %d nodos; " +
+                                    "continuar con nextCursor.", page.size(), nodeLimit);
+        } else {
+            message = String.format("%d soluciones en esta página.", page.size());
+        }
+
+        return SolutionResult.builder()
+            .success(success)
+            .board(success ? graph.toBoard(page.get(0)) : null)
+            .path(success ? graph.toPath(page.get(0)) : null)
+            .executionTimeMs(executionTime)
+            .stepsExplored((int) Math.min(Integer.MAX_VALUE, search.stepsExplored))
+            .algorithmName(closed ? "Backtracking (paginado, cerrado)" : "Backtracking (paginado)")
+            .complexity(ComplexityAnalysis.builder()
+                .timeComplexity("O(8^(n²))")
+                .spaceComplexity("O(n²)")
+                .description("Backtracking iterativo con pila explícita. Cada página retoma la búsqueda " +
+                            "desde el cursor, así no se recalculan las soluciones de páginas anteriores.")
+                .build())
+            .alternativeSolutions(alternatives)
+            .message(message)
+            .nextCursor(exhausted ? null : search.cursor())
+            .build();
+    }
+
+    /**
+     * Recorre el árbol hasta la profundidad depth y devuelve como tareas (en remaining) los
+     * subárboles que cuelgan de ese frente, en el orden del backtracking. Los caminos que la
+     * poda descarta antes de llegar no generan tarea. Si depth es la última casilla del
+     * recorrido, los recorridos se encuentran acá mismo y se devuelven en el resultado.
+     *
+     * @param template tablero y límites que se copian en cada tarea
      */
-    private void solveKnightTourAll(int[][] board, int currentRow, int currentCol, 
-                                    int moveCount, int boardSize, List<Position> path) {
-        stepsExplored++;
-        
-        if (allSolutions.size() >= MAX_SOLUTIONS) {
-            return;
-        }
-        
-        if (moveCount == boardSize * boardSize) {
-            int[][] solutionCopy = new int[boardSize][boardSize];
-            for (int i = 0; i < boardSize; i++) {
-                for (int j = 0; j < boardSize; j++) {
-                    solutionCopy[i][j] = board[i][j];
-                }
-            }
-            allSolutions.add(solutionCopy);
-            return;
-        }
-        
-        for (int i = 0; i < 8; i++) {
-            int nextRow = currentRow + ROW_MOVES[i];
-            int nextCol = currentCol + COL_MOVES[i];
-            
-            if (isSafe(board, nextRow, nextCol, boardSize)) {
-                board[nextRow][nextCol] = moveCount;
-                path.add(new Position(nextRow, nextCol));
-                
-                solveKnightTourAll(board, nextRow, nextCol, moveCount + 1, boardSize, path);
-                
-                board[nextRow][nextCol] = -1;
-                path.remove(path.size() - 1);
+    public ClusterWorkResult expandFrontier(KnightGraph graph, int startRow, int startCol, int depth,
+                                            ClusterTask template) {
+        // Sin tabla de fallidos: los subárboles del frente no se exploran acá
+        ResumableSearch search = new ResumableSearch(graph, null);
+        search.frontierDepth = depth;
+        search.storeLimit = template.getMaxStoredTours();
+        search.depth = -1;
+        search.push(graph.index(startRow, startCol));
+        search.run(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        List<ClusterTask> tasks = new ArrayList<>();
+        for (String cursor : search.frontier) {
+            tasks.add(ClusterTask.of(template, cursor, depth, true));
+        }
+        return search.workResult(tasks);
+    }
+
+    /**
+     * Explora el subárbol de una tarea del modo cluster hasta agotarlo, juntar
+     * task.getStopAfter() recorridos o explorar task.getNodeBudget() nodos.
+     *
+     * Si se pausa, remaining tiene las ramas sin probar del nivel más cercano a la raíz
+     * (para que las tomen workers ociosos) y la continuación con el resto del subárbol.
+     *
+     * @throws IllegalArgumentException si el cursor no corresponde al tablero o a rootDepth
+     */
+    public ClusterWorkResult exploreSubtree(KnightGraph graph, ClusterTask task) {
+        ResumableSearch search = ResumableSearch.fromCursor(graph, -1, task.getCursor(),
+                                                            task.getRootDepth(), task.isFresh(), false);
+        search.storeLimit = task.getMaxStoredTours();
+        long stopAfter = task.getStopAfter() > 0 ? task.getStopAfter() : Long.MAX_VALUE;
+        boolean exhausted = search.run(stopAfter, task.getNodeBudget());
+
+        List<ClusterTask> remaining = new ArrayList<>();
+        if (!exhausted) {
+            for (String branch : search.split()) {
+                remaining.add(ClusterTask.of(task, branch, search.rootDepth, true));
+            }
+            if (search.hasUntriedBranches()) {
+                remaining.add(ClusterTask.of(task, search.cursor(), search.rootDepth, false));
             }
         }
+        return search.workResult(remaining);
     }
 
     /**
-     * Reconstruye el path desde un tablero resuelto
+     * Casillas visitadas de una búsqueda con los contadores que usa la poda.
+     *
+     * free[s] lleva los vecinos no visitados de cada casilla y se actualiza al visitar o
+     * liberar una casilla (como en WarnsdorffService). Con eso cannotComplete() puede
+     * demostrar en O(8) que un estado no tiene recorrido sin explorar su subárbol.
      */
-    private List<Position> reconstructPath(int[][] board, int boardSize) {
-        List<Position> path = new ArrayList<>();
-        int totalMoves = boardSize * boardSize;
-        
-        for (int move = 0; move < totalMoves; move++) {
-            for (int i = 0; i < boardSize; i++) {
-                for (int j = 0; j < boardSize; j++) {
-                    if (board[i][j] == move) {
-                        path.add(new Position(i, j));
+    private static class Board {
+        private final KnightGraph graph;
+        private final int[] order;
+        private final int[] free;
+        private long visitedMask;  // Solo tiene sentido si FailedStateTable.supports(graph)
+        private int singleExitSquares;  // Casillas no visitadas con free == 1
+
+        Board(KnightGraph graph) {
+            this.graph = graph;
+            this.order = graph.newOrder();
+            this.free = new int[graph.size()];
+            for (int square = 0; square < free.length; square++) {
+                free[square] = graph.degree(square);
+                if (!graph.isBlocked(square) && free[square] == 1) {
+                    singleExitSquares++;
+                }
+            }
+        }
+
+        boolean isVisited(int square) {
+            return order[square] != KnightGraph.UNVISITED;
+        }
+
+        void visit(int square, int moveNumber) {
+            order[square] = moveNumber;
+            visitedMask |= 1L << square;
+            if (free[square] == 1) {
+                singleExitSquares--;
+            }
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                int neighbor = graph.neighbor(k);
+                int exits = --free[neighbor];
+                if (order[neighbor] == KnightGraph.UNVISITED) {
+                    if (exits == 1) {
+                        singleExitSquares++;
+                    } else if (exits == 0) {
+                        singleExitSquares--;
                     }
                 }
             }
         }
-        
-        return path;
+
+        void unvisit(int square) {
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                int neighbor = graph.neighbor(k);
+                int exits = ++free[neighbor];
+                if (order[neighbor] == KnightGraph.UNVISITED) {
+                    if (exits == 1) {
+                        singleExitSquares++;
+                    } else if (exits == 2) {
+                        singleExitSquares--;
+                    }
+                }
+            }
+            if (free[square] == 1) {
+                singleExitSquares++;
+            }
+            visitedMask &= ~(1L << square);
+            order[square] = KnightGraph.UNVISITED;
+        }
+
+        /**
+         * Demuestra que no hay recorrido desde este estado sin explorarlo:
+         * - un vecino no visitado sin salidas solo puede ser la última casilla;
+         * - una casilla no visitada con una sola salida que no es vecina de current también
+         *   tiene que ser la última (se entra por esa salida y no se puede salir), así que
+         *   no puede haber dos.
+         * Una casilla sin salidas que no es vecina de current ya se descartó con la primera
+         * regla cuando quedó en cero.
+         */
+        boolean cannotComplete(int current, int remaining) {
+            int adjacentSingleExits = 0;
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                int next = graph.neighbor(k);
+                if (order[next] == KnightGraph.UNVISITED) {
+                    if (free[next] == 0 && remaining > 1) {
+                        return true;
+                    }
+                    if (free[next] == 1) {
+                        adjacentSingleExits++;
+                    }
+                }
+            }
+            return singleExitSquares - adjacentSingleExits > 1;
+        }
+
+        boolean isDeadEnd(int current) {
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                if (order[graph.neighbor(k)] == KnightGraph.UNVISITED) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static FailedStateTable newFailedStateTable(KnightGraph graph) {
+        return FailedStateTable.supports(graph)
+            ? new FailedStateTable(graph.size(), FAILED_TABLE_BUCKET_BITS)
+            : null;
     }
 
     /**
-     * Verifica si una posición es válida y no ha sido visitada
+     * Estado de una búsqueda. Se crea uno por llamada, así el servicio
+     * puede atender varios requests en paralelo.
      */
-    private boolean isSafe(int[][] board, int row, int col, int boardSize) {
-        return row >= 0 && row < boardSize && 
-               col >= 0 && col < boardSize && 
-               board[row][col] == -1;
+    private static class Search {
+        private final KnightGraph graph;
+        private final Board board;
+        private final int totalMoves;
+        private final List<int[]> solutions = new ArrayList<>();  // Todas las soluciones encontradas
+        private final SearchTelemetryRecorder telemetry;  // null = sin telemetría
+        private final FailedStateTable failedStates;  // null si el tablero tiene más de 58 casillas
+        private int stepsExplored;
+
+        Search(KnightGraph graph, SearchTelemetryRecorder telemetry) {
+            this.graph = graph;
+            this.board = new Board(graph);
+            this.telemetry = telemetry;
+            this.totalMoves = graph.getOpenSquares();
+            this.failedStates = newFailedStateTable(graph);
+        }
+
+        /**
+         * Función recursiva que busca TODAS las soluciones
+         */
+        void solveKnightTourAll(int current, int moveCount) {
+            if ((++stepsExplored & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Búsqueda cancelada");
+            }
+            if (telemetry != null) {
+                telemetry.node(moveCount - 1);
+            }
+
+            if (solutions.size() >= MAX_SOLUTIONS) {
+                return;
+            }
+
+            if (moveCount == totalMoves) {
+                solutions.add(board.order.clone());
+                if (telemetry != null) {
+                    telemetry.solution();
+                }
+                return;
+            }
+
+            boolean deadEnd = telemetry != null && board.isDeadEnd(current);
+            if (deadEnd) {
+                telemetry.deadEnd(moveCount - 1);
+            }
+
+            if (board.cannotComplete(current, totalMoves - moveCount)) {
+                if (telemetry != null && !deadEnd) {
+                    telemetry.pruned(moveCount - 1);
+                }
+                return;
+            }
+
+            // Si ya se demostró que desde este estado no hay recorrido, se descarta el subárbol
+            boolean storable = failedStates != null && totalMoves - moveCount >= MIN_REMAINING_TO_STORE;
+            long state = 0;
+            if (storable) {
+                state = failedStates.key(board.visitedMask, current);
+                if (failedStates.contains(state)) {
+                    if (telemetry != null && !deadEnd) {
+                        telemetry.pruned(moveCount - 1);
+                    }
+                    return;
+                }
+            }
+            int solutionsBefore = solutions.size();
+            int stepsBefore = stepsExplored;
+
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                int next = graph.neighbor(k);
+
+                if (!board.isVisited(next)) {
+                    board.visit(next, moveCount);
+                    solveKnightTourAll(next, moveCount + 1);
+                    board.unvisit(next);
+                }
+            }
+
+            // Solo cuenta como fallido si se exploró completo sin encontrar soluciones
+            if (storable && solutions.size() == solutionsBefore) {
+                failedStates.add(state, stepsExplored - stepsBefore);
+            }
+        }
     }
-}
 
+    /**
+     * Backtracking iterativo con pila explícita, en el mismo orden y con la misma poda
+     * que la versión recursiva.
+     *
+     * edge[d] es el índice (relativo a neighborStart) del próximo vecino a probar desde squares[d];
+     * para d menor que la profundidad actual, edge[d] - 1 es el movimiento que llevó a squares[d + 1].
+     * Ese arreglo y la casilla inicial alcanzan para reconstruir todo el estado (camino, visitadas
+     * y contadores de la poda), así que es lo único que se guarda en el cursor.
+     *
+     * Para el modo cluster la búsqueda puede limitarse al subárbol de squares[rootDepth],
+     * cortar el árbol en frontierDepth guardando el cursor de cada subárbol, y ceder ramas
+     * sin probar con split().
+     */
+    private static class ResumableSearch {
+        private final KnightGraph graph;
+        private final Board board;
+        private final int[] squares;
+        private final int[] edge;
+        private final List<int[]> solutions = new ArrayList<>();  // Las primeras storeLimit
+        private final FailedStateTable failedStates;
+        private final long[] states;            // Clave en la tabla de cada nivel de la pila
+        private final long[] solutionsAtPush;   // -1 = no se guarda al salir
+        private final long[] stepsAtPush;
+        private final List<String> frontier = new ArrayList<>();
+        private int depth;
+        private int rootDepth;
+        private int frontierDepth = Integer.MAX_VALUE;
+        private int storeLimit = Integer.MAX_VALUE;
+        private boolean closed;                 // Solo cuentan los recorridos cerrados
+        private long solutionCount;
+        private long stepsExplored;
+
+        private ResumableSearch(KnightGraph graph) {
+            this(graph, newFailedStateTable(graph));
+        }
+
+        private ResumableSearch(KnightGraph graph, FailedStateTable failedStates) {
+            this.graph = graph;
+            this.board = new Board(graph);
+            this.squares = new int[graph.getOpenSquares()];
+            this.edge = new int[graph.getOpenSquares()];
+            this.failedStates = failedStates;
+            this.states = new long[graph.getOpenSquares()];
+            this.solutionsAtPush = new long[graph.getOpenSquares()];
+            this.stepsAtPush = new long[graph.getOpenSquares()];
+        }
+
+        static ResumableSearch fromStart(KnightGraph graph, int start, boolean closed) {
+            ResumableSearch search = new ResumableSearch(graph);
+            search.closed = closed;
+            search.depth = -1;
+            search.push(start);
+            return search;
+        }
+
+        /**
+         * Reconstruye la pila desde el cursor validando cada movimiento contra el tablero.
+         * Los niveles reconstruidos no se guardan como fallidos al salir: parte de su
+         * subárbol se exploró en páginas anteriores.
+         *
+         * @param start     casilla inicial esperada, o -1 para aceptar la del cursor
+         * @param rootDepth nivel por encima del cual no se retrocede
+         * @param fresh     si es true el último nivel del cursor es la raíz de un subárbol sin
+         *                  explorar: se entra en ella como en cualquier otro movimiento
+         * @param closed    si solo cuentan los recorridos cerrados
+         */
+        static ResumableSearch fromCursor(KnightGraph graph, int start, String cursor, int rootDepth, boolean fresh,
+                                          boolean closed) {
+            ResumableSearch search = new ResumableSearch(graph);
+            search.closed = closed;
+            try {
+                DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+                if (in.readUnsignedByte() != CURSOR_VERSION || in.readInt() != graph.getKey().hashCode()) {
+                    throw new IllegalArgumentException("El cursor corresponde a otro tablero o posición inicial");
+                }
+                int cursorStart = in.readUnsignedShort();
+                if (start >= 0 ? cursorStart != start : cursorStart >= graph.size() || graph.isBlocked(cursorStart)) {
+                    throw new IllegalArgumentException("El cursor corresponde a otro tablero o posición inicial");
+                }
+                start = cursorStart;
+                int length = in.readUnsignedShort();
+                if (length < 1 || length > search.squares.length
+                        || rootDepth < 0 || rootDepth > length - 1 || (fresh && rootDepth != length - 1)) {
+                    throw new IllegalArgumentException("Cursor inválido");
+                }
+
+                search.squares[0] = start;
+                search.board.visit(start, 0);
+                for (int d = 0; d < length; d++) {
+                    int current = search.squares[d];
+                    search.solutionsAtPush[d] = -1;
+                    int next = in.readUnsignedByte();
+                    int degree = graph.degree(current);
+                    if (next > degree || (d < length - 1 && next == 0)) {
+                        throw new IllegalArgumentException("Cursor inválido");
+                    }
+                    search.edge[d] = next;
+                    if (d < length - 1) {
+                        int square = graph.neighbor(graph.neighborStart(current) + next - 1);
+                        if (search.board.isVisited(square)) {
+                            throw new IllegalArgumentException("Cursor inválido");
+                        }
+                        search.squares[d + 1] = square;
+                        search.board.visit(square, d + 1);
+                    }
+                }
+                if (in.available() > 0 || (fresh && search.edge[length - 1] != 0)) {
+                    throw new IllegalArgumentException("Cursor inválido");
+                }
+                search.rootDepth = rootDepth;
+                search.depth = length - 1;
+                if (fresh) {
+                    search.board.unvisit(search.squares[length - 1]);
+                    search.depth--;
+                    search.push(search.squares[length - 1]);
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+            return search;
+        }
+
+        String cursor() {
+            return encode(edge, depth + 1);
+        }
+
+        /**
+         * Cursor de una tarea nueva cuya raíz es el vecino parentEdge - 1 de squares[rootDepth - 1]
+         */
+        private String freshCursor(int rootDepth, int parentEdge) {
+            int[] edges = Arrays.copyOf(edge, rootDepth + 1);
+            if (rootDepth > 0) {
+                edges[rootDepth - 1] = parentEdge;
+            }
+            edges[rootDepth] = 0;
+            return encode(edges, rootDepth + 1);
+        }
+
+        private String encode(int[] edges, int length) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(CURSOR_VERSION);
+                out.writeInt(graph.getKey().hashCode());
+                out.writeShort(squares[0]);
+                out.writeShort(length);
+                for (int d = 0; d < length; d++) {
+                    out.writeByte(edges[d]);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        }
+
+        /**
+         * Cede todas las ramas sin probar del nivel d más cercano a rootDepth que tenga alguna
+         * y devuelve el cursor de cada una. Los niveles de rootDepth a d ya no tienen nada que
+         * probar, así que la búsqueda queda limitada al subárbol de squares[d + 1]: rootDepth
+         * pasa a d + 1, que es también la profundidad de la raíz de las ramas cedidas.
+         */
+        List<String> split() {
+            List<String> branches = new ArrayList<>();
+            for (int d = rootDepth; d <= depth; d++) {
+                int base = graph.neighborStart(squares[d]);
+                for (int e = edge[d], degree = graph.degree(squares[d]); e < degree; e++) {
+                    if (isFreeAt(d, graph.neighbor(base + e))) {
+                        branches.add(freshCursor(d + 1, e + 1));
+                    }
+                }
+                if (!branches.isEmpty()) {
+                    rootDepth = d + 1;
+                    break;
+                }
+            }
+            return branches;
+        }
+
+        boolean hasUntriedBranches() {
+            for (int d = rootDepth; d <= depth; d++) {
+                int base = graph.neighborStart(squares[d]);
+                for (int e = edge[d], degree = graph.degree(squares[d]); e < degree; e++) {
+                    if (isFreeAt(d, graph.neighbor(base + e))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Si la casilla va a estar libre cuando la búsqueda vuelva al nivel d: las que
+         * visitaron los niveles más profundos se liberan al retroceder.
+         */
+        private boolean isFreeAt(int d, int square) {
+            return board.order[square] == KnightGraph.UNVISITED || board.order[square] > d;
+        }
+
+        ClusterWorkResult workResult(List<ClusterTask> remaining) {
+            List<int[][]> tours = new ArrayList<>();
+            for (int[] solution : solutions) {
+                tours.add(graph.toBoard(solution));
+            }
+            return new ClusterWorkResult(solutionCount, tours, stepsExplored, remaining);
+        }
+
+        /**
+         * Avanza hasta juntar pageSize soluciones, explorar nodeLimit nodos o agotar el árbol.
+         * Devuelve true si el árbol se agotó.
+         */
+        boolean run(long pageSize, long nodeLimit) {
+            long limit = nodeLimit == Long.MAX_VALUE ? Long.MAX_VALUE : stepsExplored + nodeLimit;
+
+            while (depth >= rootDepth) {
+                if (solutionCount >= pageSize || stepsExplored >= limit) {
+                    return false;
+                }
+
+                int current = squares[depth];
+                int base = graph.neighborStart(current);
+                int degree = graph.neighborEnd(current) - base;
+                int next = -1;
+                while (edge[depth] < degree) {
+                    int candidate = graph.neighbor(base + edge[depth]++);
+                    if (!board.isVisited(candidate)) {
+                        next = candidate;
+                        break;
+                    }
+                }
+
+                if (next == -1) {
+                    pop();
+                } else {
+                    push(next);
+                }
+            }
+            return true;
+        }
+
+        private void push(int square) {
+            depth++;
+            squares[depth] = square;
+            edge[depth] = 0;
+            board.visit(square, depth);
+            stepsExplored++;
+            solutionsAtPush[depth] = -1;
+
+            int remaining = squares.length - 1 - depth;
+            if (remaining == 0) {
+                if (!closed || isNeighbor(square, squares[0])) {
+                    solutionCount++;
+                    if (solutions.size() < storeLimit) {
+                        solutions.add(board.order.clone());
+                    }
+                }
+                edge[depth] = graph.degree(square);  // Hoja: no hay nada más que explorar desde acá
+                return;
+            }
+
+            // Un recorrido cerrado termina en un vecino de la inicial: tiene que quedar alguno libre
+            if (board.cannotComplete(square, remaining) || (closed && board.free[squares[0]] == 0)) {
+                edge[depth] = graph.degree(square);
+                return;
+            }
+
+            if (depth == frontierDepth) {
+                frontier.add(freshCursor(depth, depth > 0 ? edge[depth - 1] : 0));
+                edge[depth] = graph.degree(square);  // Lo explora la tarea de este subárbol
+                return;
+            }
+
+            if (failedStates != null && remaining >= MIN_REMAINING_TO_STORE) {
+                long state = failedStates.key(board.visitedMask, square);
+                if (failedStates.contains(state)) {
+                    edge[depth] = graph.degree(square);  // Ya se sabe que no hay recorrido desde acá
+                    return;
+                }
+                states[depth] = state;
+                solutionsAtPush[depth] = solutionCount;
+                stepsAtPush[depth] = stepsExplored;
+            }
+        }
+
+        private boolean isNeighbor(int square, int other) {
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                if (graph.neighbor(k) == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void pop() {
+            if (solutionsAtPush[depth] == solutionCount) {
+                failedStates.add(states[depth], stepsExplored - stepsAtPush[depth]);
+            }
+            board.unvisit(squares[depth]);
+            depth--;
+        }
+    }
+}
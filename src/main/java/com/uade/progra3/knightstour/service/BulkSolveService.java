@@ -0,0 +1,140 @@
+package com.uade.progra3.knightstour.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uade.progra3.knightstour.model.BulkSolveItem;
+import com.uade.progra3.knightstour.model.BulkSolveResult;
+import com.uade.progra3.knightstour.model.SolutionResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resuelve lotes de (algoritmo, tamaño, fila, columna) en un pool de workers
+ * del tamaño de la cantidad de núcleos.
+ *
+ * Cada resultado se escribe como una línea JSON (NDJSON) apenas termina, sin
+ * respetar el orden del request. Se mantienen como mucho MAX_IN_FLIGHT_PER_WORKER
+ * ítems por worker en vuelo, así un cliente lento no acumula resultados en memoria.
+ *
+ * Si el hilo del request se interrumpe, el lote termina con una línea de error (index -1).
+ * Si el lote no termina (interrupción, cliente desconectado, error) se cancelan los ítems
+ * que quedaban en vuelo.
+ */
+@Service
+public class BulkSolveService {
+
+    public static final int MAX_ITEMS = 100_000;
+
+    private static final int MAX_IN_FLIGHT_PER_WORKER = 2;
+
+    private final BacktrackingService backtrackingService;
+    private final WarnsdorffService warnsdorffService;
+    private final ObjectMapper objectMapper;
+    private final int workerCount = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+        Thread thread = new Thread(runnable, "bulk-solve");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BulkSolveService(BacktrackingService backtrackingService,
+                            WarnsdorffService warnsdorffService,
+                            ObjectMapper objectMapper) {
+        this.backtrackingService = backtrackingService;
+        this.warnsdorffService = warnsdorffService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Resuelve todos los ítems y escribe una línea por resultado en orden de finalización
+     */
+    public void solveAll(List<BulkSolveItem> items, OutputStream out) throws IOException {
+        CompletionService<BulkSolveResult> completionService = new ExecutorCompletionService<>(workers);
+        Set<Future<BulkSolveResult>> pending = new HashSet<>();
+        int maxInFlight = workerCount * MAX_IN_FLIGHT_PER_WORKER;
+        int submitted = 0;
+        int completed = 0;
+
+        try {
+            for (; completed < items.size(); completed++) {
+                while (submitted < items.size() && submitted - completed < maxInFlight) {
+                    int index = submitted++;
+                    pending.add(completionService.submit(() -> solveItem(index, items.get(index))));
+                }
+
+                Future<BulkSolveResult> done = completionService.take();
+                pending.remove(done);
+                writeLine(out, done.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeLine(out, new BulkSolveResult(-1, null, null,
+                String.format("Lote interrumpido: %d de %d ítems sin resolver", items.size() - completed, items.size())));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un ítem del lote", e.getCause());
+        } finally {
+            // Con el lote completo no queda nada; si no, los ítems en vuelo no tienen a quién responder
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void writeLine(OutputStream out, BulkSolveResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+        out.flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private BulkSolveResult solveItem(int index, BulkSolveItem item) {
+        if (item == null) {
+            return new BulkSolveResult(index, null, null, "Ítem vacío");
+        }
+
+        String algorithm = item.getAlgorithm() == null ? "" : item.getAlgorithm();
+        int maxBoardSize;
+        switch (algorithm) {
+            case "backtracking":
+                maxBoardSize = BacktrackingService.MAX_BOARD_SIZE;
+                break;
+            case "warnsdorff":
+                maxBoardSize = WarnsdorffService.MAX_BOARD_SIZE;
+                break;
+            default:
+                return new BulkSolveResult(index, item, null, "Algoritmo desconocido: " + algorithm);
+        }
+
+        int boardSize = item.getBoardSize();
+        if (boardSize < 1 || boardSize > maxBoardSize) {
+            return new BulkSolveResult(index, item, null,
+                String.format("Tamaño de tablero no válido. Límite para %s: %d", algorithm, maxBoardSize));
+        }
+        if (item.getStartRow() < 0 || item.getStartRow() >= boardSize
+                || item.getStartCol() < 0 || item.getStartCol() >= boardSize) {
+            return new BulkSolveResult(index, item, null, "La posición inicial debe estar dentro del tablero");
+        }
+
+        try {
+            SolutionResult result = algorithm.equals("backtracking")
+                ? backtrackingService.solve(boardSize, item.getStartRow(), item.getStartCol())
+                : warnsdorffService.solve(boardSize, item.getStartRow(), item.getStartCol());
+            return new BulkSolveResult(index, item, result, null);
+        } catch (RuntimeException e) {
+            return new BulkSolveResult(index, item, null, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.uade.progra3.knightstour.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uade.progra3.knightstour.model.ClusterSolveResult;
+import com.uade.progra3.knightstour.model.ClusterTask;
+import com.uade.progra3.knightstour.model.ClusterWorkResult;
+import com.uade.progra3.knightstour.model.ClusterWorkerStats;
+import com.uade.progra3.knightstour.model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinador del modo cluster: reparte el árbol del backtracking entre otras instancias
+ * de la misma aplicación (knightstour.cluster.workers) y junta los recorridos que encuentran.
+ *
+ * 1. Expande el árbol hasta expansionDepth y encola un subárbol por cada camino del frente.
+ * 2. Un hilo por worker saca tareas de la cola y las manda a /cluster/work. El worker las
+ *    explora hasta un presupuesto de nodos y, si no terminó, devuelve la continuación y las
+ *    ramas que no llegó a probar; se encolan para que las tome cualquier worker libre
+ *    (work stealing): un subárbol grande no deja a los demás esperando.
+ * 3. Si un worker no responde o devuelve error la tarea vuelve al principio de la cola.
+ *    Como las tareas no tienen efectos, reasignarla no cambia el resultado. Tras
+ *    maxWorkerFailures fallos seguidos el worker deja de recibir tareas.
+ *
+ * Termina cuando no quedan tareas (el conteo es exacto), al llegar a maxTours, al vencer
+ * el tiempo límite o si no queda ningún worker vivo (en estos casos el resultado es parcial).
+ */
+@Service
+public class ClusterCoordinatorService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCoordinatorService.class);
+
+    public static final int MAX_STORED_TOURS = 100;  // Recorridos completos en la respuesta
+    private static final long FAILURE_BACKOFF_MS = 200;
+
+    private final BacktrackingService backtrackingService;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(2))
+        .build();
+
+    @Value("${knightstour.cluster.workers:}")
+    private String workerUrls;
+
+    @Value("${knightstour.cluster.expansion-depth:4}")
+    private int defaultExpansionDepth;
+
+    @Value("${knightstour.cluster.task-node-budget:2000000}")
+    private long taskNodeBudget;
+
+    @Value("${knightstour.cluster.worker-timeout-ms:30000}")
+    private long workerTimeoutMs;
+
+    @Value("${knightstour.cluster.max-worker-failures:3}")
+    private int maxWorkerFailures;
+
+    @Value("${knightstour.cluster.default-time-limit-ms:60000}")
+    private long defaultTimeLimitMs;
+
+    @Value("${knightstour.cluster.max-time-limit-ms:600000}")
+    private long maxTimeLimitMs;
+
+    public ClusterCoordinatorService(BacktrackingService backtrackingService, ObjectMapper objectMapper) {
+        this.backtrackingService = backtrackingService;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<String> getWorkers() {
+        return Arrays.stream(workerUrls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+            .toList();
+    }
+
+    public int getDefaultExpansionDepth() {
+        return defaultExpansionDepth;
+    }
+
+    public long getDefaultTimeLimitMs() {
+        return defaultTimeLimitMs;
+    }
+
+    public long getMaxTimeLimitMs() {
+        return maxTimeLimitMs;
+    }
+
+    /**
+     * @param maxTours       cortar al encontrar esta cantidad de recorridos (0 = contar todos)
+     * @param expansionDepth profundidad del frente inicial
+     * @param timeLimitMs    tiempo límite (el controller lo acota a maxTimeLimitMs)
+     */
+    public ClusterSolveResult solve(KnightGraph graph, List<Position> blockedSquares, int startRow, int startCol,
+                                    long maxTours, int expansionDepth, long timeLimitMs) {
+        long startTime = System.currentTimeMillis();
+        List<String> workers = getWorkers();
+
+        ClusterTask template = new ClusterTask();
+        template.setRows(graph.getRows());
+        template.setCols(graph.getCols());
+        template.setBlockedSquares(blockedSquares);
+        template.setStopAfter(maxTours);
+        template.setMaxStoredTours((int) Math.min(MAX_STORED_TOURS, maxTours > 0 ? maxTours : MAX_STORED_TOURS));
+        template.setNodeBudget(taskNodeBudget);
+
+        int depth = Math.min(expansionDepth, graph.getOpenSquares() - 1);
+        Job job = new Job(workers, maxTours, template.getMaxStoredTours());
+        job.merge(null, backtrackingService.expandFrontier(graph, startRow, startCol, depth, template));
+        int initialTasks = job.queue.size();
+
+        List<Thread> dispatchers = new ArrayList<>();
+        for (WorkerState worker : job.workers) {
+            Thread thread = new Thread(() -> dispatch(job, worker), "cluster-dispatch");
+            thread.setDaemon(true);
+            thread.start();
+            dispatchers.add(thread);
+        }
+
+        job.await(startTime + timeLimitMs);
+        job.cancel();
+        dispatchers.forEach(Thread::interrupt);
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        synchronized (job) {
+            boolean complete = job.outstanding == 0 && job.tasksDiscarded == 0;
+            String message;
+            if (job.tasksDiscarded > 0) {
+                message = String.format("Los workers rechazaron %d tareas; resultado parcial.", job.tasksDiscarded);
+            } else if (complete) {
+                message = String.format("Árbol explorado completo: %d recorridos.", job.tourCount);
+            } else if (maxTours > 0 && job.tourCount >= maxTours) {
+                message = String.format("Se encontraron los %d recorridos pedidos.", maxTours);
+            } else if (job.aliveWorkers == 0) {
+                message = String.format("No quedan workers disponibles; resultado parcial (%d tareas sin explorar).",
+                                        job.outstanding);
+            } else {
+                message = String.format("Se alcanzó el tiempo límite; resultado parcial (%d tareas sin explorar).",
+                                        job.outstanding);
+            }
+            log.info("Cluster {}x{} desde ({},{}): {} recorridos, {} nodos, {} tareas iniciales, {} ms",
+                     graph.getRows(), graph.getCols(), startRow, startCol,
+                     job.tourCount, job.nodesExplored, initialTasks, executionTime);
+
+            List<ClusterWorkerStats> stats = new ArrayList<>();
+            for (WorkerState worker : job.workers) {
+                stats.add(new ClusterWorkerStats(worker.url, worker.tasksCompleted, worker.nodesExplored,
+                                                 worker.failures, worker.alive));
+            }
+            return ClusterSolveResult.builder()
+                .complete(complete)
+                .tourCount(job.tourCount)
+                .tours(new ArrayList<>(job.tours))
+                .nodesExplored(job.nodesExplored)
+                .tasksCompleted(job.tasksCompleted)
+                .tasksRequeued(job.tasksRequeued)
+                .tasksSplit(job.tasksSplit)
+                .workers(stats)
+                .executionTimeMs(executionTime)
+                .message(message)
+                .build();
+        }
+    }
+
+    /**
+     * Loop de un worker: toma la próxima tarea, la manda y encola lo que haya quedado
+     */
+    private void dispatch(Job job, WorkerState worker) {
+        int consecutiveFailures = 0;
+        try {
+            while (!job.isFinished()) {
+                ClusterTask task = job.queue.pollFirst(100, TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    continue;
+                }
+                if (job.maxTours > 0) {
+                    task.setStopAfter(Math.max(1, job.maxTours - job.tourCount()));
+                }
+
+                try {
+                    ClusterWorkResult result = send(worker.url, task);
+                    consecutiveFailures = 0;
+                    job.merge(worker, result);
+                } catch (IllegalStateException e) {
+                    // El worker rechazó la tarea: reintentarla no sirve y no es culpa del worker
+                    log.error("Worker {} rechazó una tarea: {}", worker.url, e.getMessage());
+                    job.discard(task);
+                } catch (IOException | IllegalArgumentException e) {
+                    job.requeue(task);
+                    consecutiveFailures++;
+                    log.warn("Worker {} falló ({}/{}): {}", worker.url, consecutiveFailures, maxWorkerFailures,
+                             e.getMessage());
+                    if (job.recordFailure(worker, consecutiveFailures >= maxWorkerFailures)) {
+                        return;
+                    }
+                    Thread.sleep(FAILURE_BACKOFF_MS * consecutiveFailures);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ClusterWorkResult send(String workerUrl, ClusterTask task) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(workerUrl + "/api/knights-tour/cluster/work"))
+            .timeout(Duration.ofMillis(workerTimeoutMs))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(task)))
+            .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400 && response.statusCode() < 500) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), ClusterWorkResult.class);
+    }
+
+    private static class WorkerState {
+        private final String url;
+        private int tasksCompleted;
+        private long nodesExplored;
+        private int failures;
+        private boolean alive = true;
+
+        WorkerState(String url) {
+            this.url = url;
+        }
+    }
+
+    /**
+     * Estado compartido de una búsqueda. Los contadores se protegen con el monitor del Job;
+     * la cola es concurrente para que los dispatchers esperen tareas sin tomarlo.
+     */
+    private static class Job {
+        private final LinkedBlockingDeque<ClusterTask> queue = new LinkedBlockingDeque<>();
+        private final List<WorkerState> workers = new ArrayList<>();
+        private final List<int[][]> tours = new ArrayList<>();
+        private final long maxTours;
+        private final int maxStoredTours;
+        private int outstanding;  // Tareas encoladas o en vuelo
+        private int aliveWorkers;
+        private long tourCount;
+        private long nodesExplored;
+        private int tasksCompleted;
+        private int tasksRequeued;
+        private int tasksSplit;
+        private int tasksDiscarded;
+        private boolean cancelled;
+
+        Job(List<String> workerUrls, long maxTours, int maxStoredTours) {
+            for (String url : workerUrls) {
+                workers.add(new WorkerState(url));
+            }
+            this.aliveWorkers = workers.size();
+            this.maxTours = maxTours;
+            this.maxStoredTours = maxStoredTours;
+        }
+
+        /**
+         * Suma el resultado de una tarea (worker == null para la expansión inicial) y
+         * encola lo que quedó: primero la continuación, así cada worker tiende a seguir
+         * con su subárbol, y al final las ramas cedidas.
+         */
+        synchronized void merge(WorkerState worker, ClusterWorkResult result) {
+            if (cancelled) {
+                return;
+            }
+            tourCount += result.getTourCount();
+            nodesExplored += result.getNodesExplored();
+            for (int[][] tour : result.getTours()) {
+                if (tours.size() < maxStoredTours) {
+                    tours.add(tour);
+                }
+            }
+            for (ClusterTask task : result.getRemaining()) {
+                if (task.isFresh()) {
+                    queue.addLast(task);
+                    if (worker != null) {
+                        tasksSplit++;
+                    }
+                } else {
+                    queue.addFirst(task);
+                }
+            }
+            outstanding += result.getRemaining().size();
+            if (worker != null) {
+                outstanding--;
+                tasksCompleted++;
+                worker.tasksCompleted++;
+                worker.nodesExplored += result.getNodesExplored();
+            }
+            notifyAll();
+        }
+
+        synchronized void discard(ClusterTask task) {
+            outstanding--;
+            tasksDiscarded++;
+            notifyAll();
+        }
+
+        synchronized void requeue(ClusterTask task) {
+            queue.addFirst(task);
+            tasksRequeued++;
+        }
+
+        /**
+         * Devuelve true si el worker queda fuera de la búsqueda
+         */
+        synchronized boolean recordFailure(WorkerState worker, boolean retire) {
+            worker.failures++;
+            if (retire) {
+                worker.alive = false;
+                aliveWorkers--;
+                notifyAll();
+            }
+            return retire;
+        }
+
+        synchronized long tourCount() {
+            return tourCount;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        synchronized boolean isFinished() {
+            return cancelled || outstanding == 0 || aliveWorkers == 0 || (maxTours > 0 && tourCount >= maxTours);
+        }
+
+        synchronized void await(long deadline) {
+            try {
+                while (!isFinished()) {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        return;
+                    }
+                    wait(Math.min(wait, 1000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
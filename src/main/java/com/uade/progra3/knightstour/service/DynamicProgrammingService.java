@@ -10,176 +10,151 @@ import java.util.List;
 
 /**
  * Implementación con Programación Dinámica para maximizar puntos.
- * 
+ *
  * Problema: Dado un tablero con casillas con puntaje, el caballo debe maximizar
  * la suma de puntos visitados en exactamente K movimientos.
- * 
- * Enfoque: Usamos memoización con una tabla:
- * dp[row][col][moves] = máximo puntaje alcanzable desde (row, col) con 'moves' movimientos restantes
- * 
+ *
+ * Enfoque: Llenamos de abajo hacia arriba (sin recursión) la tabla:
+ * dp[moves][square] = máximo puntaje alcanzable desde square con 'moves' movimientos restantes
+ *
  * Complejidad:
  * - Tiempo: O(n² * k * 8) = O(n² * k) donde n es el tamaño del tablero y k el número de movimientos
- * - Espacio: O(n² * k) para la tabla de memoización
+ * - Espacio: O(n² * k) para la tabla
  */
 @Service
 public class DynamicProgrammingService {
-    
-    private static final int[] ROW_MOVES = {2, 1, -1, -2, -2, -1, 1, 2};
-    private static final int[] COL_MOVES = {1, 2, 2, 1, -1, -2, -2, -1};
-    
-    private int[][][] memo;
-    private int[][] pointsBoard;
-    private int boardSize;
-    private int stepsExplored;
-    private List<Position> bestPath;
-
-    public SolutionResult solve(int boardSize, int startRow, int startCol, 
+
+    public static final int MAX_BOARD_SIZE = 20;  // Lado máximo aceptado por la API
+    public static final int MAX_MOVES = 2000;     // Tabla de (k + 1) * n² enteros: hasta ~3 MB en 20x20
+
+    private final KnightGraphCache graphCache;
+
+    public DynamicProgrammingService(KnightGraphCache graphCache) {
+        this.graphCache = graphCache;
+    }
+
+    public SolutionResult solve(int boardSize, int startRow, int startCol,
+                                int maxMoves, int[][] pointsBoard) {
+        return solve(graphCache.square(boardSize), startRow, startCol, maxMoves, pointsBoard);
+    }
+
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol,
                                 int maxMoves, int[][] pointsBoard) {
         long startTime = System.currentTimeMillis();
-        stepsExplored = 0;
-        this.boardSize = boardSize;
-        this.pointsBoard = pointsBoard;
-        this.bestPath = new ArrayList<>();
-        
-        memo = new int[boardSize][boardSize][maxMoves + 1];
-        
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                for (int k = 0; k <= maxMoves; k++) {
-                    memo[i][j][k] = -1;
-                }
-            }
-        }
-        
-        int maxScore = solveDP(startRow, startCol, maxMoves);
-        reconstructPath(startRow, startCol, maxMoves);
-        
-        int[][] board = new int[boardSize][boardSize];
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = -1;
-            }
-        }
-        
+
+        int size = graph.size();
+        int start = graph.index(startRow, startCol);
+        int[] table = computeUpperBounds(graph, pointsBoard, maxMoves);
+        int maxScore = table[maxMoves * size + start];
+        List<Position> bestPath = reconstructPath(graph, table, start, maxMoves);
+
+        int[] order = graph.newOrder();
         for (int i = 0; i < bestPath.size(); i++) {
             Position pos = bestPath.get(i);
-            board[pos.getRow()][pos.getCol()] = i;
+            order[graph.index(pos.getRow(), pos.getCol())] = i;
         }
-        
+
         long executionTime = System.currentTimeMillis() - startTime;
-        
+
         ComplexityAnalysis complexity = ComplexityAnalysis.builder()
             .timeComplexity("O(n² * k)")
             .spaceComplexity("O(n² * k)")
-            .description("Usa programación dinámica con memoización para maximizar puntos " +
-                        "en k movimientos. Evita recalcular subproblemas ya resueltos.")
+            .description("Usa programación dinámica de abajo hacia arriba para maximizar puntos " +
+                        "en k movimientos. Cada subproblema se calcula una sola vez.")
             .build();
-        
+
         return SolutionResult.builder()
             .success(true)
-            .board(board)
-            .path(new ArrayList<>(bestPath))
+            .board(graph.toBoard(order))
+            .path(bestPath)
             .executionTimeMs(executionTime)
-            .stepsExplored(stepsExplored)
+            .stepsExplored((maxMoves + 1) * size)
             .algorithmName("Dynamic Programming (Max Points)")
             .complexity(complexity)
             .alternativeSolutions(null)
-            .message(String.format("Puntaje máximo alcanzado: %d puntos en %d movimientos", 
+            .message(String.format("Puntaje máximo alcanzado: %d puntos en %d movimientos",
                                   maxScore, maxMoves))
             .build();
     }
 
     /**
-     * Función recursiva con memoización para calcular el máximo puntaje
+     * Calcula la tabla completa de la versión relajada (con revisitas) de abajo hacia arriba:
+     * bounds[moves * size + square] = máximo puntaje desde square con 'moves' movimientos restantes.
+     *
+     * Como permite revisitar casillas, es una cota superior válida para cualquier
+     * camino simple con la misma cantidad de movimientos.
      */
-    private int solveDP(int row, int col, int movesLeft) {
-        stepsExplored++;
-        
-        if (memo[row][col][movesLeft] != -1) {
-            return memo[row][col][movesLeft];
+    public int[] computeUpperBounds(KnightGraph graph, int[][] pointsBoard, int maxMoves) {
+        int size = graph.size();
+        int[] bounds = new int[(maxMoves + 1) * size];
+
+        for (int square = 0; square < size; square++) {
+            bounds[square] = pointsBoard[graph.row(square)][graph.col(square)];
         }
-        
-        if (movesLeft == 0) {
-            memo[row][col][0] = pointsBoard[row][col];
-            return memo[row][col][0];
+
+        for (int moves = 1; moves <= maxMoves; moves++) {
+            int previous = (moves - 1) * size;
+            int current = moves * size;
+            for (int square = 0; square < size; square++) {
+                int maxFuturePoints = 0;
+                for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                    maxFuturePoints = Math.max(maxFuturePoints, bounds[previous + graph.neighbor(k)]);
+                }
+                bounds[current + square] = bounds[square] + maxFuturePoints;
+            }
         }
-        
-        int currentPoints = pointsBoard[row][col];
-        int maxFuturePoints = 0;
-        
-        for (int i = 0; i < 8; i++) {
-            int nextRow = row + ROW_MOVES[i];
-            int nextCol = col + COL_MOVES[i];
-            
-            if (isValid(nextRow, nextCol)) {
-                int futurePoints = solveDP(nextRow, nextCol, movesLeft - 1);
-                maxFuturePoints = Math.max(maxFuturePoints, futurePoints);
+        return bounds;
+    }
+
+    /**
+     * Genera un tablero aleatorio con puntos para demostración
+     */
+    public int[][] generateRandomPointsBoard(int size) {
+        return generateRandomPointsBoard(size, size);
+    }
+
+    public int[][] generateRandomPointsBoard(int rows, int cols) {
+        int[][] board = new int[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                board[i][j] = (int) (Math.random() * 10) + 1;
             }
         }
-        
-        memo[row][col][movesLeft] = currentPoints + maxFuturePoints;
-        return memo[row][col][movesLeft];
+        return board;
     }
 
     /**
-     * Reconstruye el camino óptimo siguiendo la tabla de memoización
+     * Reconstruye el camino óptimo siguiendo la tabla de computeUpperBounds
      */
-    private void reconstructPath(int startRow, int startCol, int maxMoves) {
-        bestPath.clear();
-        int row = startRow;
-        int col = startCol;
+    private static List<Position> reconstructPath(KnightGraph graph, int[] table, int start, int maxMoves) {
+        int size = graph.size();
+        List<Position> bestPath = new ArrayList<>();
+        int square = start;
         int movesLeft = maxMoves;
-        
-        bestPath.add(new Position(row, col));
-        
+
+        bestPath.add(new Position(graph.row(square), graph.col(square)));
+
         while (movesLeft > 0) {
-            int bestRow = -1;
-            int bestCol = -1;
+            int best = -1;
             int bestValue = Integer.MIN_VALUE;
-            
-            for (int i = 0; i < 8; i++) {
-                int nextRow = row + ROW_MOVES[i];
-                int nextCol = col + COL_MOVES[i];
-                
-                if (isValid(nextRow, nextCol)) {
-                    int value = memo[nextRow][nextCol][movesLeft - 1];
-                    if (value != -1 && value > bestValue) {
-                        bestValue = value;
-                        bestRow = nextRow;
-                        bestCol = nextCol;
-                    }
+
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                int next = graph.neighbor(k);
+                int value = table[(movesLeft - 1) * size + next];
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = next;
                 }
             }
-            
-            if (bestRow == -1) {
+
+            if (best == -1) {
                 break;
             }
-            
-            bestPath.add(new Position(bestRow, bestCol));
-            row = bestRow;
-            col = bestCol;
-            movesLeft--;
-        }
-    }
 
-    /**
-     * Verifica si una posición está dentro del tablero
-     */
-    private boolean isValid(int row, int col) {
-        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
-    }
-
-    /**
-     * Genera un tablero aleatorio con puntos para demostración
-     */
-    public int[][] generateRandomPointsBoard(int size) {
-        int[][] board = new int[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board[i][j] = (int) (Math.random() * 10) + 1;
-            }
+            bestPath.add(new Position(graph.row(best), graph.col(best)));
+            square = best;
+            movesLeft--;
         }
-        return board;
+        return bestPath;
     }
 }
-
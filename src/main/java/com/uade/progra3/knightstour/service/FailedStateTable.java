@@ -0,0 +1,88 @@
+package com.uade.progra3.knightstour.service;
+
+/**
+ * Conjunto acotado de estados (casilla actual + casillas visitadas) desde los que ya se
+ * demostró que no hay recorrido. Si el backtracking vuelve a un estado por otro orden
+ * de movimientos, puede descartar el subárbol entero sin explorarlo.
+ *
+ * El estado se empaqueta en un long: bitmask de visitadas en los bits bajos y la casilla
+ * actual desplazada size bits. Por eso solo se usa si size + 6 <= 64 (hasta 7x7).
+ *
+ * Es una tabla de direccionamiento abierto en arreglos primitivos, agrupada en buckets de
+ * BUCKET_SIZE entradas. Cuando el bucket está lleno se reemplaza la entrada que representa
+ * el subárbol más chico, siempre que el nuevo no sea más chico todavía: conviene conservar
+ * los estados cuyo fracaso costó más demostrar.
+ */
+final class FailedStateTable {
+
+    private static final int BUCKET_SIZE = 4;
+    private static final long EMPTY = 0;  // Nunca es una clave: la casilla actual está en el bitmask
+
+    private final long[] keys;
+    private final int[] work;  // Nodos que costó demostrar el fracaso (saturado a Integer.MAX_VALUE)
+    private final int bucketMask;
+    private final int positionShift;
+
+    /**
+     * @param size       casillas del tablero (filas * columnas)
+     * @param bucketBits log2 de la cantidad de buckets
+     */
+    FailedStateTable(int size, int bucketBits) {
+        this.keys = new long[BUCKET_SIZE << bucketBits];
+        this.work = new int[BUCKET_SIZE << bucketBits];
+        this.bucketMask = (1 << bucketBits) - 1;
+        this.positionShift = size;
+    }
+
+    static boolean supports(KnightGraph graph) {
+        return graph.size() + 6 <= Long.SIZE;
+    }
+
+    long key(long visitedMask, int current) {
+        return visitedMask | ((long) current << positionShift);
+    }
+
+    boolean contains(long key) {
+        int base = bucket(key);
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            if (keys[i] == key) {
+                return true;
+            }
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    void add(long key, long subtreeNodes) {
+        int cost = (int) Math.min(Integer.MAX_VALUE, subtreeNodes);
+        int base = bucket(key);
+        int victim = base;
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            if (keys[i] == EMPTY || keys[i] == key) {
+                keys[i] = key;
+                work[i] = Math.max(work[i], cost);
+                return;
+            }
+            if (work[i] < work[victim]) {
+                victim = i;
+            }
+        }
+        if (cost >= work[victim]) {
+            keys[victim] = key;
+            work[victim] = cost;
+        }
+    }
+
+    private int bucket(long key) {
+        // Finalizador de MurmurHash3: las claves difieren en pocos bits
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return ((int) h & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,196 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grafo inmutable de movimientos del caballo para un tablero de rows x cols
+ * con casillas bloqueadas opcionales.
+ *
+ * Las casillas se numeran como row * cols + col. Los vecinos se guardan en formato
+ * CSR (compressed sparse row): los vecinos de la casilla s son
+ * neighbors[offsets[s]] .. neighbors[offsets[s + 1] - 1], en el mismo orden de
+ * movimientos que usaban los servicios, así los resultados no cambian.
+ *
+ * Los bordes y las casillas bloqueadas se resuelven una sola vez al construir el
+ * grafo, por lo que los algoritmos recorren los vecinos con simples accesos a arreglos.
+ */
+public final class KnightGraph {
+
+    // Movimientos posibles del caballo en ajedrez (L-shape)
+    private static final int[] ROW_MOVES = {2, 1, -1, -2, -2, -1, 1, 2};
+    private static final int[] COL_MOVES = {1, 2, 2, 1, -1, -2, -2, -1};
+
+    public static final int UNVISITED = -1;
+    public static final int BLOCKED = -2;
+
+    private final String key;
+    private final int rows;
+    private final int cols;
+    private final boolean[] blocked;
+    private final int openSquares;
+    private final int[] offsets;
+    private final int[] neighbors;
+
+    KnightGraph(int rows, int cols, boolean[] blocked) {
+        this.rows = rows;
+        this.cols = cols;
+        this.blocked = blocked.clone();
+        this.key = key(rows, cols, blocked);
+
+        int size = rows * cols;
+        int open = 0;
+        int[] offsets = new int[size + 1];
+        int[] buffer = new int[size * 8];
+        int count = 0;
+
+        for (int square = 0; square < size; square++) {
+            offsets[square] = count;
+            if (this.blocked[square]) {
+                continue;
+            }
+            open++;
+            int row = square / cols;
+            int col = square % cols;
+            for (int i = 0; i < 8; i++) {
+                int nextRow = row + ROW_MOVES[i];
+                int nextCol = col + COL_MOVES[i];
+                if (nextRow >= 0 && nextRow < rows && nextCol >= 0 && nextCol < cols
+                        && !this.blocked[nextRow * cols + nextCol]) {
+                    buffer[count++] = nextRow * cols + nextCol;
+                }
+            }
+        }
+        offsets[size] = count;
+
+        this.openSquares = open;
+        this.offsets = offsets;
+        this.neighbors = Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Clave canónica de la forma del tablero, por ejemplo "6x6" o "5x7:3:12"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Cantidad total de casillas (incluyendo bloqueadas)
+     */
+    public int size() {
+        return rows * cols;
+    }
+
+    /**
+     * Cantidad de casillas que un recorrido completo debe visitar
+     */
+    public int getOpenSquares() {
+        return openSquares;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int row(int square) {
+        return square / cols;
+    }
+
+    public int col(int square) {
+        return square % cols;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public boolean isBlocked(int square) {
+        return blocked[square];
+    }
+
+    public int neighborStart(int square) {
+        return offsets[square];
+    }
+
+    public int neighborEnd(int square) {
+        return offsets[square + 1];
+    }
+
+    public int neighbor(int k) {
+        return neighbors[k];
+    }
+
+    public int degree(int square) {
+        return offsets[square + 1] - offsets[square];
+    }
+
+    /**
+     * Arreglo plano de orden de visita: UNVISITED en casillas libres, BLOCKED en las bloqueadas
+     */
+    public int[] newOrder() {
+        int[] order = new int[size()];
+        for (int square = 0; square < order.length; square++) {
+            order[square] = blocked[square] ? BLOCKED : UNVISITED;
+        }
+        return order;
+    }
+
+    /**
+     * Convierte un arreglo plano de orden de visita al tablero rows x cols que devuelve la API
+     */
+    public int[][] toBoard(int[] order) {
+        int[][] board = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(order, row * cols, board[row], 0, cols);
+        }
+        return board;
+    }
+
+    /**
+     * Convierte una secuencia de casillas a la lista de posiciones que devuelve la API
+     */
+    public List<Position> toPath(int[] squares, int length) {
+        List<Position> path = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            path.add(new Position(row(squares[i]), col(squares[i])));
+        }
+        return path;
+    }
+
+    /**
+     * Reconstruye el path desde un orden de visita completo
+     */
+    public List<Position> toPath(int[] order) {
+        int[] squares = new int[openSquares];
+        int length = 0;
+        for (int square = 0; square < order.length; square++) {
+            if (order[square] >= 0) {
+                squares[order[square]] = square;
+                length++;
+            }
+        }
+        return toPath(squares, length);
+    }
+
+    static String key(int rows, int cols, boolean[] blocked) {
+        StringBuilder key = new StringBuilder().append(rows).append('x').append(cols);
+        for (int square = 0; square < blocked.length; square++) {
+            if (blocked[square]) {
+                key.append(':').append(square);
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.Position;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache compartido de grafos de caballo por forma de tablero.
+ *
+ * Los grafos son inmutables, así que una misma instancia se reutiliza entre
+ * requests y entre hilos. Se descartan los menos usados al superar MAX_ENTRIES
+ * para que tableros con huecos arbitrarios no hagan crecer el cache sin límite.
+ */
+@Component
+public class KnightGraphCache {
+
+    private static final int MAX_ENTRIES = 128;
+
+    private final Map<String, KnightGraph> graphs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, KnightGraph> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public KnightGraph square(int boardSize) {
+        return get(boardSize, boardSize, null);
+    }
+
+    /**
+     * Devuelve el grafo del tablero rows x cols con las casillas bloqueadas indicadas
+     * (puede ser null o vacío). Las posiciones fuera del tablero se ignoran.
+     */
+    public KnightGraph get(int rows, int cols, List<Position> blockedSquares) {
+        boolean[] blocked = new boolean[rows * cols];
+        if (blockedSquares != null) {
+            for (Position position : blockedSquares) {
+                if (position.getRow() >= 0 && position.getRow() < rows &&
+                    position.getCol() >= 0 && position.getCol() < cols) {
+                    blocked[position.getRow() * cols + position.getCol()] = true;
+                }
+            }
+        }
+
+        String key = KnightGraph.key(rows, cols, blocked);
+        synchronized (graphs) {
+            return graphs.computeIfAbsent(key, k -> new KnightGraph(rows, cols, blocked));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.SearchTelemetry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contadores del árbol de búsqueda de una ejecución.
+ *
+ * Los servicios guardan una referencia que es null cuando no se pidió telemetría y
+ * llaman a los métodos detrás de un chequeo de null, así con la opción apagada el
+ * costo es una comparación por nodo. No es thread-safe: cada intento paralelo usa
+ * el suyo y al final se combinan con merge().
+ */
+final class SearchTelemetryRecorder {
+
+    private final long startNanos;
+    private final long[] nodes;
+    private final long[] deadEnds;
+    private final long[] pruned;
+    private final List<Long> solutionNanos = new ArrayList<>();
+    private int maxDepth;
+
+    /**
+     * @param depthLimit profundidad máxima posible (casillas libres - 1)
+     * @param startNanos instante de inicio de la búsqueda según System.nanoTime()
+     */
+    SearchTelemetryRecorder(int depthLimit, long startNanos) {
+        this.startNanos = startNanos;
+        this.nodes = new long[depthLimit + 1];
+        this.deadEnds = new long[depthLimit + 1];
+        this.pruned = new long[depthLimit + 1];
+    }
+
+    void node(int depth) {
+        nodes[depth]++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void deadEnd(int depth) {
+        deadEnds[depth]++;
+    }
+
+    /**
+     * Nodo visitado cuyo subárbol se descartó por poda sin ser un callejón sin salida
+     */
+    void pruned(int depth) {
+        pruned[depth]++;
+    }
+
+    void solution() {
+        solutionNanos.add(System.nanoTime() - startNanos);
+    }
+
+    void merge(SearchTelemetryRecorder other) {
+        for (int depth = 0; depth < nodes.length; depth++) {
+            nodes[depth] += other.nodes[depth];
+            deadEnds[depth] += other.deadEnds[depth];
+            pruned[depth] += other.pruned[depth];
+        }
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+        solutionNanos.addAll(other.solutionNanos);
+    }
+
+    SearchTelemetry build() {
+        List<Double> solutionTimesMs = new ArrayList<>();
+        solutionNanos.stream().sorted().forEach(nanos -> solutionTimesMs.add(nanos / 1_000_000.0));
+
+        return SearchTelemetry.builder()
+            .nodesPerDepth(Arrays.copyOf(nodes, maxDepth + 1))
+            .deadEndsPerDepth(Arrays.copyOf(deadEnds, maxDepth + 1))
+            .prunedPerDepth(Arrays.copyOf(pruned, maxDepth + 1))
+            .effectiveBranchingFactor(effectiveBranchingFactor())
+            .maxDepth(maxDepth)
+            .timeToFirstSolutionMs(solutionTimesMs.isEmpty() ? null : solutionTimesMs.get(0))
+            .solutionTimesMs(solutionTimesMs)
+            .build();
+    }
+
+    /**
+     * Factor de ramificación efectivo b*: el de un árbol uniforme de profundidad maxDepth
+     * con la misma cantidad de nodos, es decir N = 1 + b* + b*² + ... + b*^d.
+     * Se resuelve por bisección (la suma es creciente en b*).
+     */
+    private double effectiveBranchingFactor() {
+        long total = 0;
+        for (long count : nodes) {
+            total += count;
+        }
+        if (maxDepth == 0 || total <= maxDepth + 1) {
+            return maxDepth == 0 ? 0 : 1;
+        }
+
+        double low = 1;
+        double high = 2;
+        while (treeSize(high, maxDepth) < total) {
+            high *= 2;
+        }
+        for (int i = 0; i < 60; i++) {
+            double mid = (low + high) / 2;
+            if (treeSize(mid, maxDepth) < total) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    private static double treeSize(double branching, int depth) {
+        return (Math.pow(branching, depth + 1) - 1) / (branching - 1);
+    }
+}
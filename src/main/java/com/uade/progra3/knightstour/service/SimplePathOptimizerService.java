@@ -0,0 +1,309 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.ComplexityAnalysis;
+import com.uade.progra3.knightstour.model.SolutionResult;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maximización de puntos con caminos simples (sin revisitar casillas).
+ *
+ * A diferencia de {@link DynamicProgrammingService}, que permite volver a sumar los
+ * puntos de una casilla ya visitada, acá el caballo recorre como mucho K movimientos
+ * sin repetir casillas. Este problema es NP-difícil en general, así que se resuelve en dos fases:
+ *
+ * 1. Beam search: en cada nivel se expanden los estados (casilla actual +
+ *    bitmask de visitadas) y se conservan los beamWidth más prometedores según
+ *    puntaje acumulado + cota de la PD relajada. Dos caminos que llegan al mismo estado
+ *    tienen el mismo futuro, así que solo se conserva el de mayor puntaje. Cada estado
+ *    guarda solo su casilla y un puntero al padre; el camino se reconstruye al final.
+ *    Corre en el hilo del request (sin el ForkJoinPool común) y controla el tiempo
+ *    límite mientras expande, no solo entre niveles.
+ * 2. Branch and bound: búsqueda en profundidad que poda toda rama cuya cota
+ *    (puntaje actual + PD relajada) no supera la mejor solución conocida.
+ *
+ * Es un algoritmo "anytime": si se alcanza el tiempo límite devuelve el mejor camino
+ * encontrado hasta el momento; si el branch and bound termina, el resultado es óptimo.
+ *
+ * Complejidad:
+ * - Tiempo: O(k * w * 8) para el beam search + O(8^k) en el peor caso para el branch and bound
+ * - Espacio: O(k * w * n²/64) donde w es el ancho del beam (un bitmask por estado)
+ */
+@Service
+public class SimplePathOptimizerService {
+
+    public static final int DEFAULT_BEAM_WIDTH = 256;
+    public static final long DEFAULT_TIME_LIMIT_MS = 2000;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;  // Nodos entre chequeos del reloj
+
+    private final DynamicProgrammingService dynamicProgrammingService;
+
+    public SimplePathOptimizerService(DynamicProgrammingService dynamicProgrammingService) {
+        this.dynamicProgrammingService = dynamicProgrammingService;
+    }
+
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol, int maxMoves,
+                                int[][] pointsBoard, int beamWidth, long timeLimitMs) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeLimitMs;
+
+        // Un camino simple no puede tener más movimientos que casillas libres - 1
+        int moves = Math.min(maxMoves, graph.getOpenSquares() - 1);
+        int[] bounds = dynamicProgrammingService.computeUpperBounds(graph, pointsBoard, moves);
+        Search search = new Search(graph, pointsBoard, bounds, moves, deadline);
+        int start = graph.index(startRow, startCol);
+
+        search.beamSearch(start, beamWidth);
+        boolean optimal = search.incumbentScore == bounds[moves * graph.size() + start]
+                || search.branchAndBound(start);
+
+        int[] order = graph.newOrder();
+        for (int i = 0; i < search.incumbentPath.length; i++) {
+            order[search.incumbentPath[i]] = i;
+        }
+
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        ComplexityAnalysis complexity = ComplexityAnalysis.builder()
+            .timeComplexity("O(k · w) + O(8^k)")
+            .spaceComplexity("O(k · w · n²/64)")
+            .description("Camino simple de máximo puntaje (NP-difícil). Beam search de ancho w " +
+                        "sobre bitmasks de visitadas y branch and bound acotado por la PD relajada.")
+            .build();
+
+        return SolutionResult.builder()
+            .success(true)
+            .board(graph.toBoard(order))
+            .path(graph.toPath(search.incumbentPath, search.incumbentPath.length))
+            .executionTimeMs(executionTime)
+            .stepsExplored((int) Math.min(Integer.MAX_VALUE, search.stepsExplored))
+            .algorithmName("Simple Path Optimizer (Beam Search + Branch & Bound)")
+            .complexity(complexity)
+            .alternativeSolutions(null)
+            .message(String.format("%s: %d puntos en %d movimientos sin repetir casillas",
+                                  optimal ? "Óptimo demostrado" : "Mejor camino encontrado dentro del tiempo límite",
+                                  search.incumbentScore, search.incumbentPath.length - 1))
+            .build();
+    }
+
+    /**
+     * Estado parcial del beam: casilla actual, padre, casillas visitadas y puntaje acumulado
+     */
+    private static class BeamState {
+        private final BeamState parent;  // null en la casilla inicial
+        private final int square;
+        private final int depth;
+        private final long[] visited;
+        private final int score;
+        private final int priority;  // score + cota optimista de lo que falta
+
+        BeamState(BeamState parent, int square, long[] visited, int score, int priority) {
+            this.parent = parent;
+            this.square = square;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.visited = visited;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        /**
+         * Camino desde la casilla inicial, siguiendo los punteros al padre
+         */
+        int[] path() {
+            int[] path = new int[depth + 1];
+            for (BeamState state = this; state != null; state = state.parent) {
+                path[state.depth] = state.square;
+            }
+            return path;
+        }
+
+        StateKey key() {
+            return new StateKey(square, visited);
+        }
+    }
+
+    /**
+     * Estado del beam por valor: casilla actual + bitmask de visitadas
+     */
+    private static class StateKey {
+        private final int last;
+        private final long[] visited;
+        private final int hash;
+
+        StateKey(int last, long[] visited) {
+            this.last = last;
+            this.visited = visited;
+            this.hash = 31 * last + Arrays.hashCode(visited);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StateKey key && last == key.last && Arrays.equals(visited, key.visited);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Search {
+        private final KnightGraph graph;
+        private final int[] points;
+        private final int[] bounds;
+        private final int size;
+        private final int maxMoves;
+        private final long deadline;
+
+        private int[] incumbentPath;
+        private int incumbentScore;
+        private long stepsExplored;
+
+        // Estado mutable del branch and bound
+        private boolean[] visited;
+        private int[] path;
+        private boolean timedOut;
+
+        Search(KnightGraph graph, int[][] pointsBoard, int[] bounds, int maxMoves, long deadline) {
+            this.graph = graph;
+            this.size = graph.size();
+            this.bounds = bounds;
+            this.maxMoves = maxMoves;
+            this.deadline = deadline;
+            this.points = new int[size];
+            for (int square = 0; square < size; square++) {
+                points[square] = pointsBoard[graph.row(square)][graph.col(square)];
+            }
+        }
+
+        /**
+         * Cota superior del puntaje total si el camino llega a square con movesLeft restantes
+         */
+        private int bound(int scoreBefore, int square, int movesLeft) {
+            return scoreBefore + bounds[movesLeft * size + square];
+        }
+
+        private void offer(int[] candidatePath, int score) {
+            if (incumbentPath == null || score > incumbentScore) {
+                incumbentPath = candidatePath;
+                incumbentScore = score;
+            }
+        }
+
+        void beamSearch(int start, int beamWidth) {
+            long[] startVisited = new long[(size + 63) / 64];
+            startVisited[start >>> 6] |= 1L << start;
+            BeamState root = new BeamState(null, start, startVisited, points[start], bound(0, start, maxMoves));
+            offer(root.path(), root.score);
+            List<BeamState> beam = List.of(root);
+
+            for (int depth = 1; depth <= maxMoves && !beam.isEmpty(); depth++) {
+                int movesLeft = maxMoves - depth;
+                Map<StateKey, BeamState> children = new LinkedHashMap<>();
+                for (BeamState state : beam) {
+                    if (++stepsExplored % DEADLINE_CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline) {
+                        return;
+                    }
+                    expand(state, movesLeft, children);
+                }
+
+                beam = children.values().stream()
+                    .sorted(Comparator.comparingInt((BeamState state) -> state.priority).reversed())
+                    .limit(beamWidth)
+                    .collect(Collectors.toList());
+                for (BeamState child : beam) {
+                    if (child.score > incumbentScore) {
+                        offer(child.path(), child.score);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Agrega los hijos de state a children; si un estado ya estaba, queda el de mayor puntaje
+         */
+        private void expand(BeamState state, int movesLeft, Map<StateKey, BeamState> children) {
+            int current = state.square;
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                int next = graph.neighbor(k);
+                if ((state.visited[next >>> 6] & (1L << next)) != 0) {
+                    continue;
+                }
+                long[] visited = state.visited.clone();
+                visited[next >>> 6] |= 1L << next;
+                BeamState child = new BeamState(state, next, visited, state.score + points[next],
+                                                bound(state.score, next, movesLeft));
+                children.merge(child.key(), child, (a, b) -> b.score > a.score ? b : a);
+            }
+        }
+
+        /**
+         * Branch and bound en profundidad. Devuelve true si terminó antes del tiempo
+         * límite, es decir, si la mejor solución quedó demostrada como óptima.
+         */
+        boolean branchAndBound(int start) {
+            visited = new boolean[size];
+            path = new int[maxMoves + 1];
+            visited[start] = true;
+            path[0] = start;
+            explore(start, 0, points[start]);
+            return !timedOut;
+        }
+
+        private void explore(int current, int depth, int score) {
+            if (++stepsExplored % DEADLINE_CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline) {
+                timedOut = true;
+            }
+            if (timedOut) {
+                return;
+            }
+
+            if (score > incumbentScore) {
+                offer(Arrays.copyOf(path, depth + 1), score);
+            }
+
+            int movesLeft = maxMoves - depth;
+            if (movesLeft == 0) {
+                return;
+            }
+
+            // Ordena los vecinos libres por cota descendente (como mucho 8 elementos)
+            int[] candidates = new int[8];
+            int[] candidateBounds = new int[8];
+            int count = 0;
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                int next = graph.neighbor(k);
+                if (visited[next]) {
+                    continue;
+                }
+                int nextBound = bound(score, next, movesLeft - 1);
+                int j = count++;
+                while (j > 0 && candidateBounds[j - 1] < nextBound) {
+                    candidates[j] = candidates[j - 1];
+                    candidateBounds[j] = candidateBounds[j - 1];
+                    j--;
+                }
+                candidates[j] = next;
+                candidateBounds[j] = nextBound;
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (candidateBounds[i] <= incumbentScore) {
+                    return;  // El resto tiene cotas menores o iguales: poda
+                }
+                int next = candidates[i];
+                visited[next] = true;
+                path[depth + 1] = next;
+                explore(next, depth + 1, score + points[next]);
+                visited[next] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.uade.progra3.knightstour.service;
+
+import com.uade.progra3.knightstour.model.SolutionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa requests idénticos que llegan mientras el primero todavía se está resolviendo
+ * (single flight): el primero lanza el cálculo y los demás esperan ese mismo resultado
+ * en lugar de repetirlo. La clave es la forma canónica del request que arma el controller.
+ *
+ * El cálculo corre en un hilo propio y no en el del primer request, así cada request
+ * espera con su propio timeout: si uno se vence o se interrumpe, los demás siguen
+ * esperando. Cuando se va el último que esperaba, el cálculo se cancela interrumpiendo
+ * su hilo (el backtracking lo chequea cada tantos nodos) y la clave queda libre; así un
+ * cálculo nunca dura más que wait-timeout-ms después del último request que lo pidió.
+ *
+ * Cada endpoint tiene su propio pool acotado: knightstour.coalescing.max-concurrent
+ * hilos (por defecto uno por CPU) y una cola de knightstour.coalescing.queue-capacity.
+ * Si el pool y la cola están llenos el request se rechaza (RejectedExecutionException,
+ * 503 en el controller) en lugar de lanzar otra búsqueda exponencial en paralelo, y los
+ * backtrackings largos no bloquean a la programación dinámica.
+ *
+ * Métricas en /actuator/metrics, por endpoint:
+ * - knightstour.coalescing.requests (role=leader|follower): requests que lanzaron un
+ *   cálculo y requests que se sumaron a uno en curso;
+ * - knightstour.coalescing.timeouts: esperas vencidas o interrumpidas;
+ * - knightstour.coalescing.rejected: cálculos rechazados con el pool lleno;
+ * - knightstour.coalescing.cancelled: cálculos cancelados porque nadie los esperaba;
+ * - knightstour.coalescing.ratio: fracción de requests que no calcularon nada.
+ */
+@Component
+public class SolveCoalescer {
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+
+    @Value("${knightstour.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${knightstour.coalescing.wait-timeout-ms:120000}")
+    private long waitTimeoutMs;
+
+    public SolveCoalescer(MeterRegistry meterRegistry,
+                          @Value("${knightstour.coalescing.max-concurrent:0}") int maxConcurrent,
+                          @Value("${knightstour.coalescing.queue-capacity:16}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(queueCapacity, 1);
+    }
+
+    /**
+     * Devuelve el resultado del cálculo en curso para key o, si no hay ninguno, lanza solver.
+     *
+     * @throws TimeoutException           si el resultado no estuvo dentro del timeout de espera o
+     *                                    el hilo se interrumpió mientras esperaba
+     * @throws RejectedExecutionException si hay que lanzar el cálculo y el pool del endpoint está lleno
+     */
+    public SolutionResult solve(String endpoint, String key, Supplier<SolutionResult> solver) throws TimeoutException {
+        if (!enabled) {
+            return solver.get();
+        }
+
+        String flightKey = endpoint + "|" + key;
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        Flight[] joined = new Flight[1];
+        boolean[] leader = new boolean[1];
+        inFlight.compute(flightKey, (k, existing) -> {
+            // Un vuelo cancelado puede seguir en el mapa un instante: se reemplaza
+            if (existing != null && existing.join()) {
+                joined[0] = existing;
+                return existing;
+            }
+            leader[0] = true;
+            joined[0] = new Flight();
+            joined[0].join();
+            return joined[0];
+        });
+        Flight flight = joined[0];
+
+        if (leader[0]) {
+            endpointStats.leaders.increment();
+            try {
+                flight.task = endpointStats.solvers.submit(() -> {
+                    try {
+                        flight.result.complete(solver.get());
+                    } catch (Throwable t) {
+                        flight.result.completeExceptionally(t);
+                    } finally {
+                        inFlight.remove(flightKey, flight);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Los que ya se sumaron a este cálculo reciben el mismo rechazo
+                inFlight.remove(flightKey, flight);
+                flight.result.completeExceptionally(e);
+                endpointStats.rejected.increment();
+                throw e;
+            }
+        } else {
+            endpointStats.followers.increment();
+        }
+
+        boolean received = false;
+        try {
+            SolutionResult result = flight.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            received = true;
+            return result;
+        } catch (TimeoutException e) {
+            endpointStats.timeouts.increment();
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpointStats.timeouts.increment();
+            throw new TimeoutException("Espera interrumpida");
+        } catch (ExecutionException e) {
+            received = true;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (flight.leave() && !received) {
+                inFlight.remove(flightKey, flight);
+                endpointStats.solvers.purge();  // Si todavía estaba en la cola, libera el lugar
+                endpointStats.cancelled.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stats.values().forEach(endpointStats -> endpointStats.solvers.shutdownNow());
+    }
+
+    /**
+     * Un cálculo en curso y la cantidad de requests que lo esperan
+     */
+    private static class Flight {
+        private final CompletableFuture<SolutionResult> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private int waiters;
+        private boolean cancelled;
+
+        /**
+         * Suma un request que espera; false si el vuelo ya se canceló
+         */
+        synchronized boolean join() {
+            if (cancelled) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * Resta un request; si era el último y el cálculo no terminó, lo cancela.
+         * Devuelve true si lo canceló.
+         */
+        synchronized boolean leave() {
+            if (--waiters > 0 || result.isDone()) {
+                return false;
+            }
+            cancelled = true;
+            if (task != null) {
+                task.cancel(true);
+            }
+            return true;
+        }
+    }
+
+    private class EndpointStats {
+        private final ThreadPoolExecutor solvers;
+        private final Counter leaders;
+        private final Counter followers;
+        private final Counter timeouts;
+        private final Counter rejected;
+        private final Counter cancelled;
+
+        EndpointStats(String endpoint) {
+            this.solvers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "coalesced-solve-" + endpoint);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+            this.solvers.allowCoreThreadTimeOut(true);
+            this.leaders = Counter.builder("knightstour.coalescing.requests")
+                .tag("endpoint", endpoint).tag("role", "leader")
+                .register(meterRegistry);
+            this.followers = Counter.builder("knightstour.coalescing.requests")
+                .tag("endpoint", endpoint).tag("role", "follower")
+                .register(meterRegistry);
+            this.timeouts = Counter.builder("knightstour.coalescing.timeouts")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            this.rejected = Counter.builder("knightstour.coalescing.rejected")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            this.cancelled = Counter.builder("knightstour.coalescing.cancelled")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            Gauge.builder("knightstour.coalescing.ratio", this, EndpointStats::ratio)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        }
+
+        double ratio() {
+            double total = leaders.count() + followers.count();
+            return total == 0 ? 0 : followers.count() / total;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.uade.progra3.knightstour.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Costo observado de cada motor por tablero y casilla inicial, como promedios móviles
+ * exponenciales (EWMA): tiempo de ejecución, tasa de éxito y, para el backtracking,
+ * nanosegundos por nodo. Lo usa AutoSolveService para elegir motor y presupuesto.
+ *
+ * Cada ejecución actualiza dos entradas: la de la casilla inicial exacta y la del tablero
+ * (cualquier casilla inicial), que se usa cuando todavía no hay datos de esa casilla.
+ * Las entradas menos usadas se descartan al superar MAX_ENTRIES, como en KnightGraphCache.
+ */
+@Component
+public class SolverCostModel {
+
+    private static final int MAX_ENTRIES = 4096;
+    private static final double ALPHA = 0.3;  // Peso de la última observación
+
+    private final Map<String, Estimate> estimates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Estimate> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Estimación para el motor en este tablero y casilla inicial, o null si nunca se ejecutó
+     * en este tablero. variant distingue configuraciones con costos distintos (p. ej. cerrado).
+     */
+    public synchronized Estimate estimate(String engine, String variant, KnightGraph graph, int start) {
+        Estimate exact = estimates.get(key(engine, variant, graph) + "|" + start);
+        if (exact != null) {
+            return exact.copy(true);
+        }
+        Estimate board = estimates.get(key(engine, variant, graph));
+        return board != null ? board.copy(false) : null;
+    }
+
+    /**
+     * @param nodes nodos explorados (0 si el motor no los cuenta)
+     */
+    public synchronized void record(String engine, String variant, KnightGraph graph, int start,
+                                    double timeMs, boolean success, long nodes) {
+        String boardKey = key(engine, variant, graph);
+        estimates.computeIfAbsent(boardKey + "|" + start, k -> new Estimate()).update(timeMs, success, nodes);
+        estimates.computeIfAbsent(boardKey, k -> new Estimate()).update(timeMs, success, nodes);
+    }
+
+    private static String key(String engine, String variant, KnightGraph graph) {
+        return engine + "|" + variant + "|" + graph.getKey();
+    }
+
+    public static class Estimate {
+        private double timeMs;
+        private double successRate;
+        private double nanosPerNode;  // 0 = sin datos
+        private long samples;
+        private boolean exactStart;
+
+        private void update(double observedMs, boolean success, long nodes) {
+            double weight = samples == 0 ? 1 : ALPHA;
+            timeMs += weight * (observedMs - timeMs);
+            successRate += weight * ((success ? 1 : 0) - successRate);
+            if (nodes > 0 && observedMs > 0) {
+                double observedNanos = observedMs * 1_000_000 / nodes;
+                nanosPerNode = nanosPerNode == 0 ? observedNanos : nanosPerNode + ALPHA * (observedNanos - nanosPerNode);
+            }
+            samples++;
+        }
+
+        private Estimate copy(boolean exactStart) {
+            Estimate copy = new Estimate();
+            copy.timeMs = timeMs;
+            copy.successRate = successRate;
+            copy.nanosPerNode = nanosPerNode;
+            copy.samples = samples;
+            copy.exactStart = exactStart;
+            return copy;
+        }
+
+        public double getTimeMs() {
+            return timeMs;
+        }
+
+        public double getSuccessRate() {
+            return successRate;
+        }
+
+        public double getNanosPerNode() {
+            return nanosPerNode;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        /**
+         * true si la estimación es de esta casilla inicial y no del tablero en general
+         */
+        public boolean isExactStart() {
+            return exactStart;
+        }
+    }
+}
@@ -3,135 +3,431 @@ package com.uade.progra3.knightstour.service;
 import com.uade.progra3.knightstour.model.ComplexityAnalysis;
 import com.uade.progra3.knightstour.model.Position;
 import com.uade.progra3.knightstour.model.SolutionResult;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Implementación de la Heurística de Warnsdorff para el Knight's Tour Problem.
- * 
+ *
  * Estrategia: En cada paso, el caballo se mueve a la casilla que tiene el menor
  * número de movimientos disponibles (casillas no visitadas alcanzables desde allí).
- * 
+ *
  * Esta heurística es mucho más eficiente que backtracking puro y casi siempre
  * encuentra una solución en tableros de tamaño razonable.
- * 
+ *
+ * Modo robusto: lanza varios intentos en paralelo desempatando al azar con semillas
+ * reproducibles y se queda con el primero que completa el recorrido. Si todos fallan,
+ * retrocede un número acotado de casillas desde donde se trabó el mejor intento y
+ * completa con backtracking ordenado por Warnsdorff.
+ *
  * Complejidad:
  * - Tiempo: O(n²) donde n es el tamaño del tablero
  * - Espacio: O(n²) para almacenar el tablero
  */
 @Service
 public class WarnsdorffService {
-    
-    private static final int[] ROW_MOVES = {2, 1, -1, -2, -2, -1, 1, 2};
-    private static final int[] COL_MOVES = {1, 2, 2, 1, -1, -2, -2, -1};
-    
-    private int stepsExplored;
+
+    public static final int MAX_BOARD_SIZE = 20;  // Lado máximo aceptado por la API
+
+    private static final int MAX_BACKTRACK_DEPTH = 16;       // Casillas que se deshacen como máximo
+    private static final int BACKTRACK_NODE_LIMIT = 500_000;  // Presupuesto de nodos del fallback
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(),
+        runnable -> {
+            Thread thread = new Thread(runnable, "warnsdorff-attempt");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final KnightGraphCache graphCache;
+
+    public WarnsdorffService(KnightGraphCache graphCache) {
+        this.graphCache = graphCache;
+    }
 
     public SolutionResult solve(int boardSize, int startRow, int startCol) {
+        return solve(graphCache.square(boardSize), startRow, startCol);
+    }
+
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol) {
+        return solve(graph, startRow, startCol, false);
+    }
+
+    /**
+     * @param telemetry si es true, registra nodos y callejones sin salida por profundidad
+     *                  (ver {@link SearchTelemetryRecorder})
+     */
+    public SolutionResult solve(KnightGraph graph, int startRow, int startCol, boolean telemetry) {
         long startTime = System.currentTimeMillis();
-        stepsExplored = 0;
-        
-        int[][] board = new int[boardSize][boardSize];
-        List<Position> path = new ArrayList<>();
-        
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = -1;
-            }
-        }
-        
-        board[startRow][startCol] = 0;
-        path.add(new Position(startRow, startCol));
-        
-        boolean success = solveWithWarnsdorff(board, startRow, startCol, 1, boardSize, path);
+
+        Attempt attempt = new Attempt(0, graph, graph.index(startRow, startCol), null,
+                                      telemetry ? newRecorder(graph, System.nanoTime()) : null);
+        boolean success = attempt.runGreedy();
         long executionTime = System.currentTimeMillis() - startTime;
-        
-        ComplexityAnalysis complexity = ComplexityAnalysis.builder()
-            .timeComplexity("O(n²)")
-            .spaceComplexity("O(n²)")
-            .description("Usa la heurística de Warnsdorff: en cada paso, elige la casilla " +
-                        "con menor número de movimientos disponibles. Mucho más eficiente que backtracking.")
-            .build();
-        
+
         return SolutionResult.builder()
             .success(success)
-            .board(success ? board : null)
-            .path(success ? new ArrayList<>(path) : null)
+            .board(success ? attempt.board() : null)
+            .path(success ? attempt.path() : null)
             .executionTimeMs(executionTime)
-            .stepsExplored(stepsExplored)
+            .stepsExplored(attempt.stepsExplored)
             .algorithmName("Warnsdorff's Heuristic (Greedy)")
-            .complexity(complexity)
+            .complexity(greedyComplexity())
             .alternativeSolutions(null)
-            .message(success ? "Solución encontrada exitosamente con heurística greedy" : 
+            .telemetry(telemetry ? attempt.telemetry.build() : null)
+            .message(success ? "Solución encontrada exitosamente con heurística greedy" :
                     "No se pudo completar el recorrido con esta heurística")
             .build();
     }
 
     /**
-     * Resuelve el Knight's Tour usando la heurística de Warnsdorff
+     * Modo robusto: intentos paralelos con desempate aleatorio y fallback de backtracking acotado.
+     *
+     * El intento 0 usa el desempate clásico (primer movimiento de grado mínimo), así que el
+     * modo robusto nunca es peor que {@link #solve}. El intento i > 0 usa la semilla seed + i.
+     */
+    public SolutionResult solveRobust(int boardSize, int startRow, int startCol, int attempts, long seed) {
+        return solveRobust(graphCache.square(boardSize), startRow, startCol, attempts, seed);
+    }
+
+    public SolutionResult solveRobust(KnightGraph graph, int startRow, int startCol, int attempts, long seed) {
+        return solveRobust(graph, startRow, startCol, attempts, seed, false);
+    }
+
+    /**
+     * @param telemetry si es true, suma la telemetría de los intentos que llegaron a terminar
+     *                  (los cancelados no se cuentan, igual que en stepsExplored)
      */
-    private boolean solveWithWarnsdorff(int[][] board, int currentRow, int currentCol, 
-                                        int moveCount, int boardSize, List<Position> path) {
-        stepsExplored++;
-        
-        if (moveCount == boardSize * boardSize) {
-            return true;
+    public SolutionResult solveRobust(KnightGraph graph, int startRow, int startCol, int attempts, long seed,
+                                      boolean telemetry) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        CompletionService<Attempt> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            Random random = i == 0 ? null : new Random(seed + i);
+            Attempt attempt = new Attempt(i, graph, graph.index(startRow, startCol), random,
+                                          telemetry ? newRecorder(graph, startNanos) : null);
+            futures.add(completionService.submit(() -> {
+                attempt.runGreedy();
+                return attempt;
+            }));
         }
-        
-        int bestRow = -1;
-        int bestCol = -1;
-        int minDegree = Integer.MAX_VALUE;
-        
-        for (int i = 0; i < 8; i++) {
-            int nextRow = currentRow + ROW_MOVES[i];
-            int nextCol = currentCol + COL_MOVES[i];
-            
-            if (isSafe(board, nextRow, nextCol, boardSize)) {
-                int degree = getDegree(board, nextRow, nextCol, boardSize);
-                
-                if (degree < minDegree) {
-                    minDegree = degree;
-                    bestRow = nextRow;
-                    bestCol = nextCol;
+
+        Attempt winner = null;
+        Attempt longest = null;
+        List<Attempt> finished = new ArrayList<>();
+        int totalSteps = 0;
+        try {
+            for (int i = 0; i < attempts && winner == null; i++) {
+                Attempt attempt = completionService.take().get();
+                finished.add(attempt);
+                totalSteps += attempt.stepsExplored;
+                if (attempt.success) {
+                    winner = attempt;
+                } else if (longest == null || attempt.length > longest.length) {
+                    longest = attempt;
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un intento de Warnsdorff", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
         }
-        
-        if (bestRow == -1) {
-            return false;
+
+        String message;
+        if (winner != null) {
+            message = winner.index == 0
+                ? "Solución encontrada con desempate clásico"
+                : String.format("Solución encontrada en el intento %d (semilla %d)", winner.index, seed + winner.index);
+        } else if (longest != null) {
+            int greedySteps = longest.stepsExplored;
+            boolean completed = longest.backtrackFromDeadEnd(MAX_BACKTRACK_DEPTH, BACKTRACK_NODE_LIMIT);
+            totalSteps += longest.stepsExplored - greedySteps;
+            if (completed) {
+                winner = longest;
+                message = String.format("Ningún intento greedy completó el recorrido; " +
+                                        "se completó con backtracking acotado (%d casillas)", MAX_BACKTRACK_DEPTH);
+            } else {
+                message = String.format("No se pudo completar el recorrido tras %d intentos y backtracking acotado", attempts);
+            }
+        } else {
+            message = "Búsqueda interrumpida antes de completar algún intento";
+        }
+
+        SearchTelemetryRecorder merged = null;
+        if (telemetry) {
+            merged = newRecorder(graph, startNanos);
+            for (Attempt attempt : finished) {
+                merged.merge(attempt.telemetry);
+            }
         }
-        
-        board[bestRow][bestCol] = moveCount;
-        path.add(new Position(bestRow, bestCol));
-        
-        return solveWithWarnsdorff(board, bestRow, bestCol, moveCount + 1, boardSize, path);
+
+        boolean success = winner != null;
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        ComplexityAnalysis complexity = ComplexityAnalysis.builder()
+            .timeComplexity("O(a · n²)")
+            .spaceComplexity("O(a · n²)")
+            .description("Ejecuta a intentos de Warnsdorff en paralelo con desempate aleatorio. " +
+                        "Si todos fallan, aplica backtracking acotado desde el punto donde se trabó el mejor intento.")
+            .build();
+
+        return SolutionResult.builder()
+            .success(success)
+            .board(success ? winner.board() : null)
+            .path(success ? winner.path() : null)
+            .executionTimeMs(executionTime)
+            .stepsExplored(totalSteps)
+            .algorithmName("Warnsdorff's Heuristic (Robust)")
+            .complexity(complexity)
+            .alternativeSolutions(null)
+            .telemetry(merged != null ? merged.build() : null)
+            .message(message)
+            .build();
     }
 
     /**
-     * Calcula el grado de accesibilidad de una casilla
-     * (cuántos movimientos válidos hay desde esa posición)
+     * Un único intento greedy con desempate aleatorio (semilla seed), sin fallback.
+     * Con semillas distintas devuelve recorridos distintos: sirve para muestrear varios
+     * recorridos o buscar uno cerrado (ver AutoSolveService).
      */
-    private int getDegree(int[][] board, int row, int col, int boardSize) {
-        int count = 0;
-        for (int i = 0; i < 8; i++) {
-            int nextRow = row + ROW_MOVES[i];
-            int nextCol = col + COL_MOVES[i];
-            if (isSafe(board, nextRow, nextCol, boardSize)) {
-                count++;
-            }
-        }
-        return count;
+    public SolutionResult solveRandomized(KnightGraph graph, int startRow, int startCol, long seed) {
+        long startTime = System.currentTimeMillis();
+
+        Attempt attempt = new Attempt(0, graph, graph.index(startRow, startCol), new Random(seed), null);
+        boolean success = attempt.runGreedy();
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        return SolutionResult.builder()
+            .success(success)
+            .board(success ? attempt.board() : null)
+            .path(success ? attempt.path() : null)
+            .executionTimeMs(executionTime)
+            .stepsExplored(attempt.stepsExplored)
+            .algorithmName("Warnsdorff's Heuristic (Randomized)")
+            .complexity(greedyComplexity())
+            .message(success ? String.format("Solución encontrada con semilla %d", seed) :
+                    "No se pudo completar el recorrido con esta semilla")
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static SearchTelemetryRecorder newRecorder(KnightGraph graph, long startNanos) {
+        return new SearchTelemetryRecorder(graph.getOpenSquares() - 1, startNanos);
+    }
+
+    private ComplexityAnalysis greedyComplexity() {
+        return ComplexityAnalysis.builder()
+            .timeComplexity("O(n²)")
+            .spaceComplexity("O(n²)")
+            .description("Usa la heurística de Warnsdorff: en cada paso, elige la casilla " +
+                        "con menor número de movimientos disponibles. Mucho más eficiente que backtracking.")
+            .build();
     }
 
     /**
-     * Verifica si una posición es válida y no ha sido visitada
+     * Estado de un intento individual. Cada intento tiene su propio tablero,
+     * así varios pueden correr en paralelo sin compartir memoria.
+     *
+     * free[s] lleva la cantidad de vecinos no visitados de cada casilla y se actualiza
+     * al visitar o liberar una casilla, así el grado de Warnsdorff es un acceso a arreglo.
      */
-    private boolean isSafe(int[][] board, int row, int col, int boardSize) {
-        return row >= 0 && row < boardSize && 
-               col >= 0 && col < boardSize && 
-               board[row][col] == -1;
+    private static class Attempt {
+        private final int index;
+        private final KnightGraph graph;
+        private final int[] order;
+        private final int[] squares;
+        private final int[] free;
+        private final Random random;  // null = desempate clásico (primer mínimo)
+        private final SearchTelemetryRecorder telemetry;  // null = sin telemetría
+        private int length;
+        private int stepsExplored;
+        private int nodeBudget;
+        private boolean success;
+
+        Attempt(int index, KnightGraph graph, int start, Random random, SearchTelemetryRecorder telemetry) {
+            this.index = index;
+            this.graph = graph;
+            this.random = random;
+            this.telemetry = telemetry;
+            this.order = graph.newOrder();
+            this.squares = new int[graph.getOpenSquares()];
+            this.free = new int[graph.size()];
+            for (int square = 0; square < free.length; square++) {
+                free[square] = graph.degree(square);
+            }
+            visit(start);
+        }
+
+        int[][] board() {
+            return graph.toBoard(order);
+        }
+
+        List<Position> path() {
+            return graph.toPath(squares, length);
+        }
+
+        /**
+         * Resuelve el Knight's Tour usando la heurística de Warnsdorff
+         */
+        boolean runGreedy() {
+            int current = squares[0];
+
+            while (true) {
+                stepsExplored++;
+                if (telemetry != null) {
+                    telemetry.node(length - 1);
+                }
+
+                if (length == squares.length) {
+                    success = true;
+                    if (telemetry != null) {
+                        telemetry.solution();
+                    }
+                    return true;
+                }
+
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+
+                int best = -1;
+                int minDegree = Integer.MAX_VALUE;
+                int ties = 0;
+
+                for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                    int next = graph.neighbor(k);
+
+                    if (order[next] == KnightGraph.UNVISITED) {
+                        int degree = free[next];
+
+                        if (degree < minDegree) {
+                            minDegree = degree;
+                            best = next;
+                            ties = 1;
+                        } else if (degree == minDegree && random != null && random.nextInt(++ties) == 0) {
+                            // Reservoir sampling: cada empate tiene la misma probabilidad
+                            best = next;
+                        }
+                    }
+                }
+
+                if (best == -1) {
+                    if (telemetry != null) {
+                        telemetry.deadEnd(length - 1);
+                    }
+                    return false;
+                }
+
+                visit(best);
+                current = best;
+            }
+        }
+
+        /**
+         * Deshace hasta maxDepth casillas desde el punto donde se trabó el greedy y
+         * busca completar el recorrido con backtracking ordenado por grado.
+         */
+        boolean backtrackFromDeadEnd(int maxDepth, int nodeLimit) {
+            int keep = Math.max(1, length - maxDepth);
+            while (length > keep) {
+                unvisit();
+            }
+
+            nodeBudget = nodeLimit;
+            success = backtrack(squares[length - 1]);
+            return success;
+        }
+
+        private boolean backtrack(int current) {
+            stepsExplored++;
+            if (telemetry != null) {
+                telemetry.node(length - 1);
+            }
+
+            if (length == squares.length) {
+                if (telemetry != null) {
+                    telemetry.solution();
+                }
+                return true;
+            }
+
+            if (--nodeBudget <= 0) {
+                return false;
+            }
+
+            int[] candidates = new int[8];
+            int[] degrees = new int[8];
+            int count = 0;
+            for (int k = graph.neighborStart(current), end = graph.neighborEnd(current); k < end; k++) {
+                int next = graph.neighbor(k);
+                if (order[next] == KnightGraph.UNVISITED) {
+                    int degree = free[next];
+                    // Inserción ordenada por grado (como mucho 8 elementos)
+                    int j = count++;
+                    while (j > 0 && degrees[j - 1] > degree) {
+                        candidates[j] = candidates[j - 1];
+                        degrees[j] = degrees[j - 1];
+                        j--;
+                    }
+                    candidates[j] = next;
+                    degrees[j] = degree;
+                }
+            }
+
+            if (count == 0 && telemetry != null) {
+                telemetry.deadEnd(length - 1);
+            }
+
+            for (int k = 0; k < count; k++) {
+                visit(candidates[k]);
+
+                if (backtrack(candidates[k])) {
+                    return true;
+                }
+
+                unvisit();
+
+                if (nodeBudget <= 0) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private void visit(int square) {
+            order[square] = length;
+            squares[length++] = square;
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                free[graph.neighbor(k)]--;
+            }
+        }
+
+        private void unvisit() {
+            int square = squares[--length];
+            order[square] = KnightGraph.UNVISITED;
+            for (int k = graph.neighborStart(square), end = graph.neighborEnd(square); k < end; k++) {
+                free[graph.neighbor(k)]++;
+            }
+        }
     }
 }
-
@@ -2,10 +2,24 @@ const API_URL = 'http://localhost:8080/api/knights-tour';
 
 let currentSolution = null;
 let pointsBoard = null;
-let animationState = {
-    currentStep: 0,
-    cells: [],
-    isAnimating: false
+const solveCache = new Map();  // Respuestas de endpoints deterministas (GET) ya vistas, en orden de uso
+const SOLVE_CACHE_MAX_ENTRIES = 8;
+let animationState = createAnimationState();
+
+// Tableros con más casillas que esto (12×12) se dibujan en un canvas en lugar de un div por casilla
+const CANVAS_THRESHOLD = 144;
+const CANVAS_MAX_SIZE = 600;  // Lado máximo del canvas en px
+
+const COLORS = {
+    light: '#f0d9b5',
+    dark: '#b58863',
+    visited: '#6c9bd1',
+    start: '#5cb85c',
+    end: '#d9534f',
+    blocked: '#555',
+    grid: '#999',
+    points: '#d9534f',
+    text: 'white'
 };
 
 const elements = {
@@ -25,6 +39,7 @@ const elements = {
     prevBtn: document.getElementById('prevBtn'),
     nextBtn: document.getElementById('nextBtn'),
     resetBtn: document.getElementById('resetBtn'),
+    playBtn: document.getElementById('playBtn'),
     currentStepSpan: document.getElementById('currentStep'),
     totalStepsSpan: document.getElementById('totalSteps')
 };
@@ -34,6 +49,7 @@ elements.solveBtn.addEventListener('click', solve);
 elements.prevBtn.addEventListener('click', previousStep);
 elements.nextBtn.addEventListener('click', nextStep);
 elements.resetBtn.addEventListener('click', resetAnimation);
+elements.playBtn.addEventListener('click', togglePlay);
 elements.generatePoints.addEventListener('click', generatePoints);
 elements.boardSize.addEventListener('change', updateMaxValues);
 
@@ -161,10 +177,18 @@ function clearResults() {
         comparisonDiv.style.display = 'none';
     }
     
-    animationState = {
+    stopPlay();
+    animationState = createAnimationState();
+}
+
+function createAnimationState() {
+    return {
         currentStep: 0,
-        cells: [],
-        isAnimating: false
+        renderedStep: -1,    // Último paso ya dibujado
+        renderer: null,
+        previousVisit: null, // previousVisit[s] = paso anterior en la misma casilla (o -1)
+        isAnimating: false,
+        playing: false
     };
 }
 
@@ -214,14 +238,10 @@ async function solveSingle(algo, boardSize, startRow, startCol) {
     const endpoint = algo === 'backtracking' ? 'backtracking' : 'warnsdorff';
     const url = `${API_URL}/${endpoint}?boardSize=${boardSize}&startRow=${startRow}&startCol=${startCol}`;
     
-    const response = await fetch(url);
-    
-    if (!response.ok) {
+    const data = await fetchSolveCached(url, () => {
         const limit = algo === 'backtracking' ? '8×8' : '20×20';
-        throw new Error(`Tamaño de tablero no válido. Límite para ${algo === 'backtracking' ? 'Backtracking' : 'Warnsdorff'}: ${limit}`);
-    }
-    
-    const data = await response.json();
+        return `Tamaño de tablero no válido. Límite para ${algo === 'backtracking' ? 'Backtracking' : 'Warnsdorff'}: ${limit}`;
+    });
     
     currentSolution = data;
     displayResults(data);
@@ -235,13 +255,7 @@ async function solveSingle(algo, boardSize, startRow, startCol) {
 async function solveCompare(boardSize, startRow, startCol) {
     const url = `${API_URL}/compare?boardSize=${boardSize}&startRow=${startRow}&startCol=${startCol}`;
     
-    const response = await fetch(url);
-    
-    if (!response.ok) {
-        throw new Error('Tamaño de tablero no válido para comparación. Límite: 8×8');
-    }
-    
-    const data = await response.json();
+    const data = await fetchSolveCached(url, () => 'Tamaño de tablero no válido para comparación. Límite: 8×8');
     
     displayComparison(data);
     
@@ -256,6 +270,34 @@ async function solveCompare(boardSize, startRow, startCol) {
     }
 }
 
+/**
+ * GET a un endpoint determinista. El navegador revalida con ETag (304 sin recalcular)
+ * y las últimas SOLVE_CACHE_MAX_ENTRIES respuestas ya parseadas se reutilizan desde solveCache
+ * (LRU: el Map conserva el orden de inserción y se reinserta la clave en cada uso).
+ * Se devuelve una copia porque la vista de alternativas modifica currentSolution.
+ */
+async function fetchSolveCached(url, errorMessage) {
+    let data = solveCache.get(url);
+    
+    if (data === undefined) {
+        const response = await fetch(url);
+        
+        if (!response.ok) {
+            throw new Error(errorMessage());
+        }
+        
+        data = await response.json();
+    }
+    
+    solveCache.delete(url);
+    solveCache.set(url, data);
+    if (solveCache.size > SOLVE_CACHE_MAX_ENTRIES) {
+        solveCache.delete(solveCache.keys().next().value);
+    }
+    
+    return structuredClone(data);
+}
+
 async function solveDynamic(boardSize, startRow, startCol) {
     const maxMoves = parseInt(elements.maxMoves.value);
     
@@ -303,23 +345,10 @@ async function fetchPointsBoard(boardSize) {
 function renderPointsBoard(points) {
     if (!points) return;
     
-    const size = points.length;
-    const cellSize = Math.max(30, Math.min(50, 450 / size));
-    elements.board.style.gridTemplateColumns = `repeat(${size}, ${cellSize}px)`;
-    elements.board.innerHTML = '';
-    
-    for (let i = 0; i < size; i++) {
-        for (let j = 0; j < size; j++) {
-            const cell = document.createElement('div');
-            cell.className = 'cell ' + ((i + j) % 2 === 0 ? 'light' : 'dark');
-            cell.style.width = cellSize + 'px';
-            cell.style.height = cellSize + 'px';
-            cell.style.fontSize = Math.max(12, cellSize / 3) + 'px';
-            cell.style.fontWeight = '600';
-            cell.style.color = '#d9534f'; // Rojo para los puntos
-            cell.textContent = points[i][j];
-            
-            elements.board.appendChild(cell);
+    const renderer = createBoardRenderer(points.length, points[0].length, null);
+    for (let i = 0; i < renderer.rows; i++) {
+        for (let j = 0; j < renderer.cols; j++) {
+            renderer.paintPoints(i, j, points[i][j]);
         }
     }
 }
@@ -410,100 +439,192 @@ function displayComparison(data) {
 function renderBoard(board) {
     if (!board) return;
     
-    const size = board.length;
-    const cellSize = Math.max(30, Math.min(50, 450 / size));
-    elements.board.style.gridTemplateColumns = `repeat(${size}, ${cellSize}px)`;
-    elements.board.innerHTML = '';
-    
-    for (let i = 0; i < size; i++) {
-        for (let j = 0; j < size; j++) {
-            const cell = document.createElement('div');
-            cell.className = 'cell ' + ((i + j) % 2 === 0 ? 'light' : 'dark');
-            cell.style.width = cellSize + 'px';
-            cell.style.height = cellSize + 'px';
-            cell.style.fontSize = Math.max(10, cellSize / 4) + 'px';
-            
-            const value = board[i][j];
-            if (value !== -1) {
-                cell.textContent = value;
-                cell.classList.add('visited');
-                
-                if (value === 0) {
-                    cell.classList.add('start');
-                } else if (value === size * size - 1) {
-                    cell.classList.add('end');
-                }
-            }
-            
-            elements.board.appendChild(cell);
-        }
-    }
+    const renderer = createBoardRenderer(board.length, board[0].length, null);
+    paintFullBoard(renderer, board, true);
 }
 
 function renderBoardWithPoints(board, points) {
     if (!board || !points) return;
     
-    const size = board.length;
-    const cellSize = Math.max(30, Math.min(50, 450 / size));
-    elements.board.style.gridTemplateColumns = `repeat(${size}, ${cellSize}px)`;
-    elements.board.innerHTML = '';
+    const renderer = createBoardRenderer(board.length, board[0].length, points);
+    paintFullBoard(renderer, board, false);
+}
+
+function paintFullBoard(renderer, board, markEnd) {
+    let lastValue = -1;
+    if (markEnd) {
+        board.forEach(row => row.forEach(value => { if (value !== -2) lastValue++; }));
+    }
     
-    for (let i = 0; i < size; i++) {
-        for (let j = 0; j < size; j++) {
-            const cell = document.createElement('div');
-            cell.className = 'cell with-points ' + ((i + j) % 2 === 0 ? 'light' : 'dark');
-            cell.style.width = cellSize + 'px';
-            cell.style.height = cellSize + 'px';
-            cell.style.fontSize = Math.max(10, cellSize / 4) + 'px';
-            cell.setAttribute('data-points', points[i][j]);
-            
+    for (let i = 0; i < renderer.rows; i++) {
+        for (let j = 0; j < renderer.cols; j++) {
             const value = board[i][j];
-            if (value !== -1) {
-                cell.textContent = value;
-                cell.classList.add('visited');
-                
-                if (value === 0) {
-                    cell.classList.add('start');
-                }
+            if (value === -2) {
+                renderer.paint(i, j, 'blocked', null);
+            } else if (value === 0) {
+                renderer.paint(i, j, 'start', 0);
+            } else if (value > 0) {
+                renderer.paint(i, j, markEnd && value === lastValue ? 'end' : 'visited', value);
             }
-            
-            elements.board.appendChild(cell);
         }
     }
 }
 
-function setupAnimation() {
-    if (!currentSolution || !currentSolution.path) return;
-    
-    const path = currentSolution.path;
-    const size = currentSolution.board.length;
-    const cellSize = Math.max(30, Math.min(50, 450 / size));
-    
-    elements.board.style.gridTemplateColumns = `repeat(${size}, ${cellSize}px)`;
+/**
+ * Crea el renderer del tablero: un div por casilla para tableros chicos y un canvas
+ * para los grandes. Ambos exponen paint(row, col, kind, step) para actualizar una
+ * sola casilla, así la animación solo redibuja lo que cambia en cada paso.
+ */
+function createBoardRenderer(rows, cols, points) {
     elements.board.innerHTML = '';
+    return rows * cols > CANVAS_THRESHOLD
+        ? createCanvasRenderer(rows, cols, points)
+        : createDomRenderer(rows, cols, points);
+}
+
+function createDomRenderer(rows, cols, points) {
+    const cellSize = Math.max(30, Math.min(50, 450 / Math.max(rows, cols)));
+    elements.board.style.gridTemplateColumns = `repeat(${cols}, ${cellSize}px)`;
     
-    animationState.cells = [];
-    for (let i = 0; i < size; i++) {
-        for (let j = 0; j < size; j++) {
+    const cells = [];
+    for (let i = 0; i < rows; i++) {
+        for (let j = 0; j < cols; j++) {
             const cell = document.createElement('div');
             cell.className = 'cell ' + ((i + j) % 2 === 0 ? 'light' : 'dark');
             cell.style.width = cellSize + 'px';
             cell.style.height = cellSize + 'px';
             cell.style.fontSize = Math.max(10, cellSize / 4) + 'px';
-            cell.dataset.row = i;
-            cell.dataset.col = j;
             
-            if (pointsBoard && pointsBoard[i] && pointsBoard[i][j] !== undefined) {
+            if (points && points[i] && points[i][j] !== undefined) {
                 cell.classList.add('with-points');
-                cell.setAttribute('data-points', pointsBoard[i][j]);
+                cell.setAttribute('data-points', points[i][j]);
             }
             
             elements.board.appendChild(cell);
-            animationState.cells.push(cell);
+            cells.push(cell);
+        }
+    }
+    
+    return {
+        rows,
+        cols,
+        paint(row, col, kind, step) {
+            const cell = cells[row * cols + col];
+            cell.classList.remove('visited', 'start', 'end');
+            cell.textContent = step === null ? '' : step;
+            
+            if (kind === 'blocked') {
+                cell.style.background = COLORS.blocked;
+            } else if (kind !== 'empty') {
+                cell.classList.add('visited');
+                if (kind !== 'visited') {
+                    cell.classList.add(kind);
+                }
+            }
+        },
+        paintPoints(row, col, value) {
+            const cell = cells[row * cols + col];
+            cell.style.fontSize = Math.max(12, cellSize / 3) + 'px';
+            cell.style.fontWeight = '600';
+            cell.style.color = COLORS.points; // Rojo para los puntos
+            cell.textContent = value;
+        }
+    };
+}
+
+function createCanvasRenderer(rows, cols, points) {
+    const cellSize = Math.max(1, Math.min(30, Math.floor(CANVAS_MAX_SIZE / Math.max(rows, cols))));
+    const gap = cellSize >= 6 ? 1 : 0;
+    const width = cols * (cellSize + gap) + gap;
+    const height = rows * (cellSize + gap) + gap;
+    const ratio = window.devicePixelRatio || 1;
+    
+    const canvas = document.createElement('canvas');
+    canvas.width = width * ratio;
+    canvas.height = height * ratio;
+    canvas.style.width = width + 'px';
+    canvas.style.height = height + 'px';
+    canvas.style.display = 'block';
+    elements.board.style.gridTemplateColumns = `${width}px`;
+    elements.board.appendChild(canvas);
+    
+    const ctx = canvas.getContext('2d');
+    ctx.scale(ratio, ratio);
+    ctx.textAlign = 'center';
+    ctx.textBaseline = 'middle';
+    
+    const showNumbers = cellSize >= 16;
+    const showPoints = points && cellSize >= 24;
+    const numberFont = `500 ${Math.max(8, Math.floor(cellSize / 3))}px sans-serif`;
+    const pointsFont = `700 ${Math.max(7, Math.floor(cellSize / 4))}px sans-serif`;
+    
+    function drawCell(row, col, color, text, textColor) {
+        const x = gap + col * (cellSize + gap);
+        const y = gap + row * (cellSize + gap);
+        ctx.fillStyle = color;
+        ctx.fillRect(x, y, cellSize, cellSize);
+        
+        if (showPoints) {
+            ctx.font = pointsFont;
+            ctx.fillStyle = COLORS.points;
+            ctx.fillText(points[row][col], x + cellSize * 0.78, y + cellSize * 0.22);
+        }
+        if (text !== null && showNumbers) {
+            ctx.font = numberFont;
+            ctx.fillStyle = textColor;
+            ctx.fillText(text, x + cellSize / 2, y + cellSize / 2);
         }
     }
     
+    // El tablero base se dibuja una sola vez
+    ctx.fillStyle = COLORS.grid;
+    ctx.fillRect(0, 0, width, height);
+    for (let i = 0; i < rows; i++) {
+        for (let j = 0; j < cols; j++) {
+            drawCell(i, j, (i + j) % 2 === 0 ? COLORS.light : COLORS.dark, null, null);
+        }
+    }
+    
+    return {
+        rows,
+        cols,
+        paint(row, col, kind, step) {
+            if (kind === 'empty') {
+                drawCell(row, col, (row + col) % 2 === 0 ? COLORS.light : COLORS.dark, null, null);
+            } else {
+                drawCell(row, col, COLORS[kind], step, COLORS.text);
+            }
+        },
+        paintPoints(row, col, value) {
+            const base = (row + col) % 2 === 0 ? COLORS.light : COLORS.dark;
+            drawCell(row, col, base, showNumbers ? value : null, COLORS.points);
+        }
+    };
+}
+
+function setupAnimation() {
+    if (!currentSolution || !currentSolution.path) return;
+    
+    stopPlay();
+    const path = currentSolution.path;
+    const board = currentSolution.board;
+    
+    animationState.renderer = createBoardRenderer(board.length, board[0].length, pointsBoard);
+    board.forEach((row, i) => row.forEach((value, j) => {
+        if (value === -2) animationState.renderer.paint(i, j, 'blocked', null);
+    }));
+    
+    // Un camino puede repetir casillas (PD): al retroceder hay que restaurar la visita anterior
+    const lastVisit = new Map();
+    animationState.previousVisit = new Int32Array(path.length);
+    path.forEach((pos, step) => {
+        const key = pos.row * board[0].length + pos.col;
+        animationState.previousVisit[step] = lastVisit.has(key) ? lastVisit.get(key) : -1;
+        lastVisit.set(key, step);
+    });
+    
     animationState.currentStep = 0;
+    animationState.renderedStep = -1;
     animationState.isAnimating = true;
     
     elements.animationControls.style.display = 'block';
@@ -534,42 +655,97 @@ function previousStep() {
 }
 
 function resetAnimation() {
+    stopPlay();
     animationState.currentStep = 0;
     updateAnimationStep();
     updateButtonStates();
 }
 
-function updateAnimationStep() {
+/**
+ * Reproduce el recorrido con requestAnimationFrame. En caminos largos avanza
+ * varios pasos por cuadro para que el recorrido completo dure unos 10 segundos.
+ */
+function togglePlay() {
+    if (animationState.playing) {
+        stopPlay();
+        return;
+    }
     if (!currentSolution || !currentSolution.path) return;
     
     const path = currentSolution.path;
-    const currentStep = animationState.currentStep;
+    if (animationState.currentStep === path.length - 1) {
+        animationState.currentStep = 0;
+    }
     
-    animationState.cells.forEach(cell => {
-        cell.textContent = '';
-        cell.classList.remove('visited', 'start', 'end');
-    });
+    const stepsPerFrame = Math.max(1, Math.ceil(path.length / 600));
+    animationState.playing = true;
+    elements.playBtn.textContent = '⏸ Pausar';
     
-    for (let step = 0; step <= currentStep; step++) {
-        const pos = path[step];
-        const cell = animationState.cells.find(c => 
-            parseInt(c.dataset.row) === pos.row && 
-            parseInt(c.dataset.col) === pos.col
-        );
+    const frame = () => {
+        if (!animationState.playing) return;
         
-        if (cell) {
-            cell.textContent = step;
-            cell.classList.add('visited');
-            
-            if (step === 0) {
-                cell.classList.add('start');
-            } else if (step === currentStep) {
-                cell.classList.add('end');  // Marcar posición actual
-            }
+        animationState.currentStep = Math.min(path.length - 1, animationState.currentStep + stepsPerFrame);
+        updateAnimationStep();
+        updateButtonStates();
+        
+        if (animationState.currentStep < path.length - 1) {
+            requestAnimationFrame(frame);
+        } else {
+            stopPlay();
+        }
+    };
+    requestAnimationFrame(frame);
+}
+
+function stopPlay() {
+    animationState.playing = false;
+    if (elements.playBtn) {
+        elements.playBtn.textContent = '▶ Reproducir';
+    }
+}
+
+/**
+ * Lleva el tablero del último paso dibujado al paso actual tocando solo las casillas
+ * que cambian: O(pasos avanzados o retrocedidos) en lugar de redibujar todo el tablero.
+ */
+function updateAnimationStep() {
+    if (!currentSolution || !currentSolution.path || !animationState.renderer) return;
+    
+    const path = currentSolution.path;
+    const renderer = animationState.renderer;
+    const previousVisit = animationState.previousVisit;
+    const target = animationState.currentStep;
+    let step = animationState.renderedStep;
+    
+    const kindOf = s => s === 0 ? 'start' : 'visited';
+    
+    while (step > target) {
+        const pos = path[step];
+        const previous = previousVisit[step];
+        if (previous >= 0) {
+            renderer.paint(pos.row, pos.col, kindOf(previous), previous);
+        } else {
+            renderer.paint(pos.row, pos.col, 'empty', null);
         }
+        step--;
     }
     
-    elements.currentStepSpan.textContent = currentStep;
+    if (step >= 0 && step < target) {
+        // El paso que era "actual" pasa a ser uno visitado más
+        renderer.paint(path[step].row, path[step].col, kindOf(step), step);
+    }
+    
+    while (step < target) {
+        step++;
+        renderer.paint(path[step].row, path[step].col, kindOf(step), step);
+    }
+    
+    if (target > 0) {
+        renderer.paint(path[target].row, path[target].col, 'end', target);  // Marcar posición actual
+    }
+    
+    animationState.renderedStep = target;
+    elements.currentStepSpan.textContent = target;
 }
 
 function updateButtonStates() {
@@ -583,16 +759,12 @@ function showLoader(show) {
 }
 
 function reconstructPathFromBoard(board) {
-    const size = board.length;
     const path = [];
-    const totalMoves = size * size;
     
-    for (let move = 0; move < totalMoves; move++) {
-        for (let i = 0; i < size; i++) {
-            for (let j = 0; j < size; j++) {
-                if (board[i][j] === move) {
-                    path.push({ row: i, col: j });
-                }
+    for (let i = 0; i < board.length; i++) {
+        for (let j = 0; j < board[i].length; j++) {
+            if (board[i][j] >= 0) {
+                path[board[i][j]] = { row: i, col: j };
             }
         }
     }
@@ -0,0 +1,289 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga para la API del Knight's Tour. No usa dependencias externas:
+ * se ejecuta con el launcher de archivos fuente de Java contra una instancia ya levantada.
+ *
+ *   java tools/LoadTest.java url=http://localhost:8080 rate=50 duration=30
+ *
+ * Los requests se envían a tasa fija (modelo abierto): el request i sale en t0 + i/rate
+ * aunque los anteriores no hayan respondido, y la latencia se mide desde ese instante
+ * planificado. Así, si el servidor se satura, la espera en cola aparece en los percentiles
+ * en lugar de frenar al generador.
+ *
+ * Parámetros (clave=valor):
+ * - url        base de la aplicación (http://localhost:8080)
+ * - rate       requests por segundo (50)
+ * - duration   segundos medidos (30)
+ * - warmup     segundos iniciales que no se cuentan (5)
+ * - mix        pesos por endpoint (warnsdorff:40,backtracking:20,compare:10,dp:30)
+ * - maxInFlight requests simultáneos antes de descartar y contarlo como error (512)
+ * - timeout    timeout por request en segundos (30)
+ * - seed       semilla para los tableros y posiciones (42)
+ * - maxErrorRate si la tasa de errores la supera, termina con código 1 (0.01)
+ */
+public class LoadTest {
+
+    private static final String API = "/api/knights-tour";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "512"));
+        int timeout = Integer.parseInt(options.getOrDefault("timeout", "30"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("maxErrorRate", "0.01"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix",
+            "warnsdorff:40,backtracking:20,compare:10,dp:30"));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String endpoint : mix.keySet()) {
+            stats.put(endpoint, new Stats());
+        }
+        String[] picks = weightedPicks(mix);
+        Random random = new Random(seed);
+
+        long periodNanos = (long) (1_000_000_000L / rate);
+        long totalRequests = (long) (rate * (warmup + duration));
+        long measuredFrom = (long) (rate * warmup);
+        AtomicInteger inFlight = new AtomicInteger();
+        CountDownLatch pending = new CountDownLatch((int) totalRequests);
+        long maxSendLagNanos = 0;
+
+        System.out.printf(Locale.ROOT, "Enviando %d requests a %.1f req/s contra %s (warm-up %d s, medición %d s)%n",
+                          totalRequests, rate, baseUrl, warmup, duration);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long scheduled = start + i * periodNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = i >= measuredFrom;
+            if (measured) {
+                maxSendLagNanos = Math.max(maxSendLagNanos, System.nanoTime() - scheduled);
+            }
+
+            String endpoint = picks[random.nextInt(picks.length)];
+            Stats endpointStats = stats.get(endpoint);
+
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    endpointStats.error("descartado (maxInFlight)");
+                }
+                pending.countDown();
+                continue;
+            }
+
+            HttpRequest request = buildRequest(baseUrl, endpoint, random, timeout);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - scheduled;
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        if (failure != null) {
+                            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                            endpointStats.error(cause.getClass().getSimpleName());
+                        } else if (response.statusCode() >= 400) {
+                            endpointStats.error("HTTP " + response.statusCode());
+                        } else {
+                            endpointStats.success(latency);
+                        }
+                    }
+                    pending.countDown();
+                });
+        }
+        long sendEnd = System.nanoTime();
+        pending.await();
+        long end = System.nanoTime();
+
+        boolean passed = report(stats, duration, maxErrorRate);
+        System.out.printf(Locale.ROOT, "%nMáximo atraso del generador: %.1f ms | envío %.1f s, fin %.1f s%n",
+                          maxSendLagNanos / 1e6, (sendEnd - start) / 1e9, (end - start) / 1e9);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static HttpRequest buildRequest(String baseUrl, String endpoint, Random random, int timeout) {
+        HttpRequest.Builder builder;
+        switch (endpoint) {
+            case "warnsdorff": {
+                int size = 8 + random.nextInt(13);
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + API + "/warnsdorff" + startQuery(size, random)));
+                break;
+            }
+            case "backtracking": {
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + API + "/backtracking" + startQuery(5, random)));
+                break;
+            }
+            case "compare": {
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + API + "/compare" + startQuery(5, random)));
+                break;
+            }
+            case "dp": {
+                int size = 8 + random.nextInt(5);
+                String body = String.format(Locale.ROOT,
+                    "{\"boardSize\":%d,\"startRow\":%d,\"startCol\":%d,\"maxMoves\":%d}",
+                    size, random.nextInt(size), random.nextInt(size), 10 + random.nextInt(11));
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + API + "/dynamic-programming"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Endpoint desconocido: " + endpoint);
+        }
+        return builder
+            .header("Accept-Encoding", "gzip")
+            .timeout(Duration.ofSeconds(timeout))
+            .build();
+    }
+
+    private static String startQuery(int size, Random random) {
+        return String.format("?boardSize=%d&startRow=%d&startCol=%d",
+                             size, random.nextInt(size), random.nextInt(size));
+    }
+
+    private static boolean report(Map<String, Stats> stats, int duration, double maxErrorRate) {
+        System.out.printf(Locale.ROOT, "%n%-14s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                          "endpoint", "ok", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "error %");
+
+        Stats total = new Stats();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            printRow(entry.getKey(), entry.getValue(), duration);
+            total.merge(entry.getValue());
+        }
+        printRow("TOTAL", total, duration);
+
+        if (!total.errorsByCause.isEmpty()) {
+            System.out.println();
+            System.out.println("Errores por causa: " + total.errorsByCause);
+        }
+        return total.errorRate() <= maxErrorRate;
+    }
+
+    private static void printRow(String name, Stats stats, int duration) {
+        long[] sorted = stats.sortedLatencies();
+        System.out.printf(Locale.ROOT, "%-14s %8d %8d %8.1f %9.1f %9.1f %9.1f %9.1f %9.2f%n",
+                          name, sorted.length, stats.errors,
+                          (sorted.length + stats.errors) / (double) duration,
+                          percentile(sorted, 0.50), percentile(sorted, 0.95),
+                          percentile(sorted, 0.99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                          stats.errorRate() * 100);
+    }
+
+    /**
+     * Percentil por rango más cercano, en milisegundos
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, rank)] / 1e6;
+    }
+
+    private static String[] weightedPicks(Map<String, Integer> mix) {
+        List<String> picks = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                picks.add(endpoint);
+            }
+        });
+        if (picks.isEmpty()) {
+            throw new IllegalArgumentException("El mix no tiene pesos positivos");
+        }
+        return picks.toArray(new String[0]);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            String endpoint = pair[0].trim();
+            if (!List.of("warnsdorff", "backtracking", "compare", "dp").contains(endpoint)) {
+                throw new IllegalArgumentException("Endpoint desconocido en mix: " + endpoint);
+            }
+            weights.put(endpoint, pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Parámetro inválido (se espera clave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Latencias y errores de un endpoint. Los callbacks de HttpClient corren en
+     * varios hilos, así que se sincroniza sobre la instancia.
+     */
+    private static class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<String, Integer> errorsByCause = new LinkedHashMap<>();
+
+        synchronized void success(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized void error(String cause) {
+            errors++;
+            errorsByCause.merge(cause, 1, Integer::sum);
+        }
+
+        synchronized void merge(Stats other) {
+            for (long latency : other.sortedLatencies()) {
+                success(latency);
+            }
+            errors += other.errors;
+            other.errorsByCause.forEach((cause, n) -> errorsByCause.merge(cause, n, Integer::sum));
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized double errorRate() {
+            int total = count + errors;
+            return total == 0 ? 0 : errors / (double) total;
+        }
+    }
+}